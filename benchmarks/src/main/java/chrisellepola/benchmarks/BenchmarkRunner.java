@@ -0,0 +1,33 @@
+package chrisellepola.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Main class of the benchmarks JAR:  runs JMH by its usual command line options (e.g: benchmark name regexps,
+ *  `-p size=1000000`), always with GC profiling attached (reporting allocation rates & GC counts per benchmark).
+ */
+public class BenchmarkRunner {
+
+    static public void main(String[] args) throws CommandLineOptionException, IOException, RunnerException{
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if(commandLineOptions.shouldHelp()){
+            commandLineOptions.showHelp();
+            return;
+        }
+
+        final Runner runner = new Runner(
+            new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build());
+        if(commandLineOptions.shouldList()){
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
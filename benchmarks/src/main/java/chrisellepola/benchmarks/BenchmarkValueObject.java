@@ -0,0 +1,90 @@
+package chrisellepola.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Object-to-sort for benchmarks, with the same field types as SortUtilTest's TopLevelValueObjectForTest
+ *  (public top-level fields, no getters on purpose:  to force Java Reflection).
+ */
+public class BenchmarkValueObject {
+
+    static public final List<String> FIELD_NAMES = Arrays.asList(
+        "stringVar", "intVar", "integerBoxedVar", "charVar", "floatVar", "booleanVar");
+
+    // CJK Unified Ideographs block (U+4E00 - U+9FFF)
+    static private final char CJK_IDEOGRAPHS_START = '\u4e00';
+    static private final int DISTINCT_CHARS = 26 + ('\u9fff' - CJK_IDEOGRAPHS_START + 1);
+
+    public final String stringVar;
+    public final int intVar;
+    public final Integer integerBoxedVar;
+    public final char charVar;
+    public final float floatVar;
+    public final boolean booleanVar;
+
+    public BenchmarkValueObject(
+            String stringVar, int intVar, Integer integerBoxedVar, char charVar, float floatVar,
+            boolean booleanVar){
+
+        this.stringVar = stringVar;
+        this.intVar = intVar;
+        this.integerBoxedVar = integerBoxedVar;
+        this.charVar = charVar;
+        this.floatVar = floatVar;
+        this.booleanVar = booleanVar;
+    }
+
+    /**
+     * @param size number of Objects
+     * @param tieDensity from 0 (field values mostly distinct) up to 1 (every field value the same, except booleans)
+     * @param seed of Random values (so every benchmark of the same params sorts the same List)
+     *
+     * @return new List of random Objects
+     */
+    static public List<BenchmarkValueObject> makeRandomList(int size, double tieDensity, long seed){
+        final Random random = new Random(seed);
+        // Number of distinct values (per field) to draw from
+        final int distinctValues = Math.max(1, (int) Math.round(size * (1 - tieDensity)));
+
+        final List<BenchmarkValueObject> list = new ArrayList<>(size);
+        for(int idx = 0; idx < size; ++idx){
+            list.add(new BenchmarkValueObject(
+                makeMixedCaseString(random.nextInt(distinctValues), random),
+                random.nextInt(distinctValues) - distinctValues / 2,
+                random.nextInt(distinctValues),
+                makeMixedCaseChar(random.nextInt(distinctValues), random),
+                random.nextInt(distinctValues) / 8f,
+                random.nextBoolean()));
+        }
+        return list;
+    }
+
+    /**
+     * @return base-36 String of value, with each letter randomly upper or lower case
+     *          (so equal values tie, ignoring case)
+     */
+    static private String makeMixedCaseString(int value, final Random random){
+        final char[] chars = Integer.toString(value, Character.MAX_RADIX).toCharArray();
+        for(int charIdx = 0; charIdx < chars.length; ++charIdx){
+            if(random.nextBoolean()){
+                chars[charIdx] = Character.toUpperCase(chars[charIdx]);
+            }
+        }
+        return new String(chars);
+    }
+    /**
+     * @return one of 26 letters (randomly upper or lower case) for value below 26, else a (caseless) CJK ideograph,
+     *          so that there are as many distinct chars as values (up to {@link #DISTINCT_CHARS})
+     */
+    static private char makeMixedCaseChar(int value, final Random random){
+        value %= DISTINCT_CHARS;
+        if(value >= 26){
+            return (char) (CJK_IDEOGRAPHS_START + value - 26);
+        }
+        final char c = (char) ('a' + value);
+        return random.nextBoolean() ? Character.toUpperCase(c) : c;
+    }
+}
@@ -0,0 +1,100 @@
+package chrisellepola.benchmarks;
+
+import chrisellepola.SortPlan;
+import chrisellepola.SortUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single comparisons (of adjacent Objects of a random List), by field type & ascending vs descending, and tie density.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompareBenchmark {
+
+    static private final int COMPARISONS = 1024;
+
+    // One sortFieldNamePrecedence
+    @Param({
+        "stringVar", "-stringVar", "intVar", "-intVar", "integerBoxedVar", "-integerBoxedVar",
+        "charVar", "-charVar", "floatVar", "-floatVar", "booleanVar", "-booleanVar" })
+    public String sortFieldNamePrecedence;
+
+    @Param({ "0", "0.99" })
+    public double tieDensity;
+
+    private String fieldName;
+    private boolean descending;
+    private BenchmarkValueObject[] ts;
+    private Comparator<BenchmarkValueObject> comparator;
+    private Comparator<BenchmarkValueObject> specializedComparator;
+
+    @Setup
+    public void setup(){
+        descending = sortFieldNamePrecedence.startsWith("-");
+        fieldName = descending ? sortFieldNamePrecedence.substring(1) : sortFieldNamePrecedence;
+        ts = BenchmarkValueObject.makeRandomList(COMPARISONS + 1, tieDensity, 0).toArray(new BenchmarkValueObject[0]);
+
+        final List<String> sortFieldNamePrecedences = Collections.singletonList(sortFieldNamePrecedence);
+        comparator = SortUtil.makeComparatorForPrecedence(sortFieldNamePrecedences);
+        specializedComparator = SortUtil.makeSpecializedComparatorForPrecedence(
+            SortPlan.forClass(BenchmarkValueObject.class, sortFieldNamePrecedences));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMPARISONS)
+    public int compareByField() throws NoSuchFieldException, IllegalAccessException{
+        int comparisons = 0;
+        for(int idx = 0; idx < COMPARISONS; ++idx){
+            comparisons += SortUtil.compareByField(ts[idx], ts[idx + 1], fieldName, descending);
+        }
+        return comparisons;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMPARISONS)
+    public int makeComparatorForPrecedence(){
+        int comparisons = 0;
+        for(int idx = 0; idx < COMPARISONS; ++idx){
+            comparisons += comparator.compare(ts[idx], ts[idx + 1]);
+        }
+        return comparisons;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COMPARISONS)
+    public int makeSpecializedComparatorForPrecedence(){
+        int comparisons = 0;
+        for(int idx = 0; idx < COMPARISONS; ++idx){
+            comparisons += specializedComparator.compare(ts[idx], ts[idx + 1]);
+        }
+        return comparisons;
+    }
+
+    /**
+     * Making (rather than using) a Comparator, e.g: per sortTopLevelValueObjectList call.
+     */
+    @Benchmark
+    public Comparator<BenchmarkValueObject> makeComparatorForPrecedence_Make(){
+        return SortUtil.makeComparatorForPrecedence(Collections.singletonList(sortFieldNamePrecedence));
+    }
+}
@@ -0,0 +1,79 @@
+package chrisellepola.benchmarks;
+
+import chrisellepola.SortUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting whole Lists, by list size, sort field precedences (field types & ascending vs descending),
+ *  and tie density.<br>
+ * <br>
+ * Each benchmark sorts a fresh copy of the same random List (so the O(t) copy is included in each score).<br>
+ * <br>
+ * The default params are a small matrix (2 sizes x 4 precedences x 2 tie densities);
+ *  larger Lists are opt-in, e.g: `-p size=1000000,10000000`.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    // Comma-separated sortFieldNamePrecedences:  a String, a primitive, then 3 & all 6 fields
+    @Param({
+        "stringVar", "-intVar",
+        "booleanVar,-charVar,stringVar",
+        "-integerBoxedVar,floatVar,stringVar,-intVar,charVar,booleanVar" })
+    public String sortFieldNamePrecedences;
+
+    @Param({ "0", "0.99" })
+    public double tieDensity;
+
+    private List<String> sortFieldNamePrecedenceList;
+    private List<BenchmarkValueObject> list;
+    private List<BenchmarkValueObject> listToSort;
+
+    @Setup
+    public void setup(){
+        sortFieldNamePrecedenceList = Arrays.asList(sortFieldNamePrecedences.split(","));
+        list = BenchmarkValueObject.makeRandomList(size, tieDensity, 0);
+        listToSort = new ArrayList<>(size);
+    }
+
+    private List<BenchmarkValueObject> copyList(){
+        listToSort.clear();
+        listToSort.addAll(list);
+        return listToSort;
+    }
+
+    @Benchmark
+    public List<BenchmarkValueObject> sortTopLevelValueObjectListWithoutPrinting(){
+        return SortUtil.sortTopLevelValueObjectListWithoutPrinting(copyList(), sortFieldNamePrecedenceList);
+    }
+
+    @Benchmark
+    public List<BenchmarkValueObject> sortByMakeComparatorForPrecedence(){
+        final List<BenchmarkValueObject> listToSort = copyList();
+        listToSort.sort(SortUtil.makeComparatorForPrecedence(sortFieldNamePrecedenceList));
+        return listToSort;
+    }
+}
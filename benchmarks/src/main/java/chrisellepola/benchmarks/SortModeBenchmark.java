@@ -0,0 +1,67 @@
+package chrisellepola.benchmarks;
+
+import chrisellepola.SortMode;
+import chrisellepola.SortPlan;
+import chrisellepola.SortUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting whole Lists (without printing) by each SortMode, for a reused SortPlan.<br>
+ * <br>
+ * SPECIALIZED_COMPARATOR vs COMPARATOR is the gain of reading fields by generated reader classes
+ *  (inlined by the JIT) over reading them by Reflection, for the same List#sort.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Benchmark)
+public class SortModeBenchmark {
+
+    @Param({ "10000", "1000000" })
+    public int size;
+
+    // Comma-separated sortFieldNamePrecedences
+    @Param({ "-intVar", "stringVar", "booleanVar,-charVar,stringVar" })
+    public String sortFieldNamePrecedences;
+
+    @Param({ "0", "0.99" })
+    public double tieDensity;
+
+    @Param({ "COMPARATOR", "SPECIALIZED_COMPARATOR", "EXTRACTED_KEYS", "MULTIKEY", "NORMALIZED_KEYS", "ADAPTIVE" })
+    public SortMode sortMode;
+
+    private SortPlan<BenchmarkValueObject> sortPlan;
+    private List<BenchmarkValueObject> list;
+    private List<BenchmarkValueObject> listToSort;
+
+    @Setup
+    public void setup(){
+        sortPlan = SortPlan.forClass(BenchmarkValueObject.class, Arrays.asList(sortFieldNamePrecedences.split(",")));
+        list = BenchmarkValueObject.makeRandomList(size, tieDensity, 0);
+        listToSort = new ArrayList<>(size);
+    }
+
+    @Benchmark
+    public List<BenchmarkValueObject> sortTopLevelValueObjectListWithoutPrinting(){
+        listToSort.clear();
+        listToSort.addAll(list);
+        return SortUtil.sortTopLevelValueObjectListWithoutPrinting(listToSort, sortPlan, sortMode);
+    }
+}
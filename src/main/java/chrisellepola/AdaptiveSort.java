@@ -0,0 +1,85 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Presortedness-aware sort, for Lists that are mostly a sorted prefix (e.g: from a previous sort)
+ *  followed by a (small) unsorted tail of new Objects:<br>
+ * (1) The sorted prefix (of p Objects) is detected, in O(p) comparisons<br>
+ * (2) Only the tail is sorted, in O(m*log(m)) comparisons (for a tail of m Objects)<br>
+ * (3) The sorted tail is merged into the prefix from the back (buffering only the tail), so prefix Objects
+ *      not greater than any tail Object are not moved (& at most one of them is compared)<br>
+ * (4) Only the changed part of the List is written back<br>
+ * <br>
+ * An already sorted List is only compared through once, & not written at all.
+ *  Ties are taken from the prefix first, so ordering is exactly the same as {@link List#sort}.
+ */
+final class AdaptiveSort {
+
+    private AdaptiveSort(){}
+
+    /**
+     * Sort tList (in place) by sortPlan, ordering exactly the same as {@code tList.sort(sortPlan.getComparator())}.
+     *
+     * @param tList
+     * @param sortPlan
+     * @param <T> type of Objects to be sorted
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        final Comparator<T> comparator = sortPlan.getComparator();
+        final T[] ts = (T[]) tList.toArray();
+
+        final int prefixLength = sortedPrefixLength(ts, comparator);
+        if(prefixLength == ts.length){
+            return;
+        }
+
+        final T[] tail = Arrays.copyOfRange(ts, prefixLength, ts.length);
+        Arrays.sort(tail, comparator);
+        final int firstChangedIdx = mergeFromBack(ts, prefixLength, tail, comparator);
+
+        final ListIterator<T> tListIterator = tList.listIterator(firstChangedIdx);
+        for(int idx = firstChangedIdx; idx < ts.length; ++idx){
+            tListIterator.next();
+            tListIterator.set(ts[idx]);
+        }
+    }
+
+    /**
+     * @return length of the longest (non-descending) sorted prefix of ts
+     */
+    static <T> int sortedPrefixLength(@NotNull final T[] ts, @NotNull final Comparator<? super T> comparator){
+        int prefixLength = Math.min(1, ts.length);
+        while(prefixLength < ts.length && comparator.compare(ts[prefixLength - 1], ts[prefixLength]) <= 0){
+            ++prefixLength;
+        }
+        return prefixLength;
+    }
+
+    /**
+     * Merge sorted tail into the sorted ts[0, prefixLength) (taking ties from the prefix first),
+     *  filling ts from its back.
+     *
+     * @return index of the first element of ts that was changed
+     */
+    static private <T> int mergeFromBack(
+            final T[] ts, int prefixLength, final T[] tail, final Comparator<? super T> comparator){
+
+        int prefixIdx = prefixLength - 1;
+        int tailIdx = tail.length - 1;
+        int mergedIdx = ts.length - 1;
+        while(tailIdx >= 0){
+            if(prefixIdx >= 0 && comparator.compare(ts[prefixIdx], tail[tailIdx]) > 0){
+                ts[mergedIdx--] = ts[prefixIdx--];
+            } else {
+                ts[mergedIdx--] = tail[tailIdx--];
+            }
+        }
+        return mergedIdx + 1;
+    }
+}
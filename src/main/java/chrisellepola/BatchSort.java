@@ -0,0 +1,80 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sorts many Lists concurrently, each as its own task, by one (already resolved) SortPlan:<br>
+ * (1) No List is printed, so tasks do not contend on the System.out lock<br>
+ * (2) Tasks share only the (immutable) SortPlan, so they take no shared locks
+ *      (unless sort metrics are enabled, see {@link SortInstrumentation})<br>
+ * (3) Each List's task completes its own CompletableFuture, so callers can use each as soon as it is sorted<br>
+ * <br>
+ * The default Executor runs each task on its own virtual thread if the JVM has them (Java 21+),
+ *  or else in the common ForkJoinPool.
+ */
+final class BatchSort {
+
+    private BatchSort(){}
+
+    /**
+     * @param tLists Lists to sort (each in place)
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param sortMode (see {@link SortMode})
+     * @param executor to sort in (or null for {@link #defaultExecutor()})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return new List of a CompletableFuture per List of tLists (in the same order),
+     *          completed with that (sorted) List, or exceptionally if sorting it failed
+     */
+    static <T, L extends List<T>> List<CompletableFuture<L>> sort(
+            @NotNull final Collection<L> tLists, @NotNull final SortPlan<T> sortPlan,
+            @NotNull final SortMode sortMode, final Executor executor){
+
+        final Executor sortExecutor = executor == null ? defaultExecutor() : executor;
+        final List<CompletableFuture<L>> sortedFutures = new ArrayList<>(tLists.size());
+        for(final L tList : tLists){
+            sortedFutures.add(CompletableFuture.supplyAsync(() -> {
+                // An empty List is already sorted
+                if(!tList.isEmpty()){
+                    SortUtil.sortTopLevelValueObjectListWithoutPrinting(tList, sortPlan, sortMode);
+                }
+                return tList;
+            }, sortExecutor));
+        }
+        return sortedFutures;
+    }
+
+    /**
+     * @return Executor of a new virtual thread per task if available (Java 21+), else the common ForkJoinPool
+     */
+    static Executor defaultExecutor(){
+        return DefaultExecutorHolder.DEFAULT_EXECUTOR;
+    }
+
+    /**
+     * Lazily initialized (on first use).
+     */
+    static private final class DefaultExecutorHolder {
+
+        static private final Executor DEFAULT_EXECUTOR = makeDefaultExecutor();
+
+        static private Executor makeDefaultExecutor(){
+            try{
+                // By Reflection, since this compiles for Java 8
+                final Method newVirtualThreadPerTaskExecutor =
+                    Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (Executor) newVirtualThreadPerTaskExecutor.invoke(null);
+            } catch(ReflectiveOperationException | RuntimeException e){
+                return ForkJoinPool.commonPool();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package chrisellepola;
+
+/**
+ * Case-insensitive comparisons ordering exactly the same as {@link String#compareToIgnoreCase}
+ * (which String & Character field values are sorted by - see {@link SortUtil#compareStrings}),
+ * but without making any Strings (nor folding chars more than necessary).
+ */
+final class CaseInsensitiveCompare {
+
+    private CaseInsensitiveCompare(){}
+
+    /**
+     * Same ordering as {@code String.valueOf(char0).compareToIgnoreCase(String.valueOf(char1))},
+     *  without making any Strings.
+     *
+     * @param char0
+     * @param char1
+     * @param descending
+     *
+     * @return comparison of char0 to char1 (ignoring case)
+     */
+    static int compareChars(char char0, char char1, boolean descending){
+        return descending ? compareChars(char1, char0) : compareChars(char0, char1);
+    }
+    static int compareChars(char char0, char char1){
+        if(char0 == char1){
+            return 0;
+        }
+
+        // Same folding (per char) as String#compareToIgnoreCase
+        char0 = Character.toUpperCase(char0);
+        char1 = Character.toUpperCase(char1);
+        if(char0 == char1){
+            return 0;
+        }
+        char0 = Character.toLowerCase(char0);
+        char1 = Character.toLowerCase(char1);
+        return char0 - char1;
+    }
+
+    /**
+     * Same ordering as {@code string0.compareToIgnoreCase(string1)}, but without folding chars that are equal,
+     *  and folding ASCII chars (by far the most common) without {@link Character} case lookups.
+     *
+     * @param string0
+     * @param string1
+     *
+     * @return comparison of string0 to string1 (ignoring case)
+     */
+    static int compareStrings(String string0, String string1){
+        final int minLength = Math.min(string0.length(), string1.length());
+        for(int idx = 0; idx < minLength; ++idx){
+            final char char0 = string0.charAt(idx);
+            final char char1 = string1.charAt(idx);
+            if(char0 == char1){
+                continue;
+            }
+
+            final int comparison;
+            if((char0 | char1) < ASCII_LIMIT){
+                comparison = foldAscii(char0) - foldAscii(char1);
+            } else if(Character.isSurrogate(char0) || Character.isSurrogate(char1)){
+                // Let String fold (supplementary) code points however this JVM's String#compareToIgnoreCase does
+                return string0.compareToIgnoreCase(string1);
+            } else {
+                comparison = compareChars(char0, char1);
+            }
+            if(comparison != 0){
+                return comparison;
+            }
+        }
+        return string0.length() - string1.length();
+    }
+
+    static private final int ASCII_LIMIT = 0x80;
+
+    /**
+     * @return ASCII char folded the same as {@link #foldChar} (i.e: to lower case)
+     */
+    static private char foldAscii(char c){
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    /**
+     * @return char folded such that, for any chars,
+     *          {@code Integer.compare(foldChar(char0), foldChar(char1))} orders the same as {@link #compareChars}
+     */
+    static char foldChar(char c){
+        if(c < ASCII_LIMIT){
+            return foldAscii(c);
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+    /**
+     * @return string with each char folded by {@link #foldChar}, such that (for Strings without surrogate chars)
+     *          {@code foldString(string0).compareTo(foldString(string1))}
+     *          orders the same as {@code string0.compareToIgnoreCase(string1)}
+     *          (same String if already folded),
+     *          or null if string has any surrogate chars (as String#compareToIgnoreCase may fold & order
+     *          supplementary code points other than per char - by code point, since Java 9)
+     */
+    static String foldString(String string){
+        for(int idx = 0; idx < string.length(); ++idx){
+            final char c = string.charAt(idx);
+            if(foldChar(c) != c || Character.isSurrogate(c)){
+                // Fold from the first char needing it
+                final char[] folded = string.toCharArray();
+                for(int foldIdx = idx; foldIdx < folded.length; ++foldIdx){
+                    if(Character.isSurrogate(folded[foldIdx])){
+                        return null;
+                    }
+                    folded[foldIdx] = foldChar(folded[foldIdx]);
+                }
+                return new String(folded);
+            }
+        }
+        return string;
+    }
+}
@@ -0,0 +1,296 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * External (out-of-core) merge sort:<br>
+ * (1) Each Object read from its Iterator is serialized (once) into a record, and its sort field values are read
+ *      (once) as its keys - and only that record & those keys are held in the run, not the Object itself<br>
+ * (2) Once the run's (estimated) heap size would exceed memoryBudgetBytes, it is stably sorted by those keys
+ *      (the same as by the {@link SortPlan}'s Comparator), and its records spilled to a temp file
+ *      (length-prefixed, written through a direct ByteBuffer)<br>
+ * (3) The run files are memory-mapped, and k-way merged (see {@link KWayMergeIterator}) back out as a Stream<br>
+ * <br>
+ * The heap size of a run is charged per Object as that of its record (byte[]), its keys (Object[]) & their values
+ *  (exact for Strings & Boxed Primitives, estimated for other types), & its 2 ints of the sort permutation.
+ *  So the heap held while sorting is at most memoryBudgetBytes (for such keys), plus a 64 KiB write buffer.
+ *  If all Objects fit in 1 run, nothing is spilled (and the records are deserialized as they are streamed).
+ * Ties are ordered exactly the same as by stably sorting all of the Objects in memory.
+ */
+final class ExternalMergeSort {
+
+    static private final int WRITE_BUFFER_BYTES = 1 << 16;
+    // Per record, its serialized length is written before it
+    static private final int RECORD_LENGTH_BYTES = Integer.BYTES;
+
+    // Heap size estimates (for a 64-bit JVM, without compressed references - so rather over- than underestimated)
+    static private final int REFERENCE_BYTES = 8;
+    static private final int ARRAY_HEADER_BYTES = 16;
+    static private final int OBJECT_HEADER_BYTES = 16;
+    // Per Object in a run:  its references in the run's Lists, & its sort permutation & merge scratch entries
+    static private final int RUN_ROW_BYTES = 2 * REFERENCE_BYTES + 2 * Integer.BYTES;
+
+    private ExternalMergeSort(){}
+
+    /**
+     * @param tIterator Objects-to-sort
+     * @param sortPlan to sort by
+     * @param recordSerializer to spill Objects to (& restore them from) run files
+     * @param memoryBudgetBytes (positive) maximum heap bytes held per run (see {@link ExternalMergeSort})
+     * @param tempDirectory to write run files in (or null for the default temp directory)
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted Stream, which should be closed (to delete any run files)
+     */
+    static <T> Stream<T> sort(
+            @NotNull final Iterator<T> tIterator, @NotNull final SortPlan<T> sortPlan,
+            @NotNull final RecordSerializer<T> recordSerializer, long memoryBudgetBytes, final Path tempDirectory){
+
+        if(memoryBudgetBytes < 1 || memoryBudgetBytes > Integer.MAX_VALUE){
+            // (run files must be mappable in 1 MappedByteBuffer)
+            throw new IllegalArgumentException(
+                "memoryBudgetBytes must be positive, and at most Integer.MAX_VALUE: " + memoryBudgetBytes);
+        }
+
+        final SortField[] sortFields = sortPlan.getSortFields();
+        final List<Path> runPaths = new ArrayList<>();
+        try{
+            final List<byte[]> runRecords = new ArrayList<>();
+            final List<Object[]> runKeys = new ArrayList<>();
+            long runBytes = 0;
+            while(tIterator.hasNext()){
+                final T t = tIterator.next();
+                final byte[] record = recordSerializer.serialize(t);
+                final Object[] keys = new Object[sortFields.length];
+                for(int curSortPrecedence = 0; curSortPrecedence < sortFields.length; ++curSortPrecedence){
+                    keys[curSortPrecedence] = sortFields[curSortPrecedence].read(t);
+                }
+                final long rowBytes = RUN_ROW_BYTES + arrayBytes(record.length, 1) + keysBytes(keys);
+                if(rowBytes > memoryBudgetBytes){
+                    throw new IllegalArgumentException(
+                        "Object held as " + rowBytes + " bytes (serialized as " + record.length
+                            + ") exceeds memoryBudgetBytes: " + memoryBudgetBytes);
+                }
+
+                if(runBytes + rowBytes > memoryBudgetBytes){
+                    runPaths.add(spillRun(runRecords, runKeys, sortFields, tempDirectory));
+                    runRecords.clear();
+                    runKeys.clear();
+                    runBytes = 0;
+                }
+                runRecords.add(record);
+                runKeys.add(keys);
+                runBytes += rowBytes;
+            }
+
+            if(runPaths.isEmpty()){
+                // All fit in memory:  no need to spill
+                return Arrays.stream(sortedRows(runKeys, sortFields))
+                    .mapToObj(row -> deserialize(runRecords.get(row), recordSerializer));
+            }
+            if(!runRecords.isEmpty()){
+                runPaths.add(spillRun(runRecords, runKeys, sortFields, tempDirectory));
+            }
+
+            return mergeRuns(runPaths, sortPlan.getComparator(), recordSerializer);
+
+        } catch(IOException e){
+            deleteRuns(runPaths);
+            throw new UncheckedIOException("Error writing or mapping sorted runs, for external sorting.", e);
+        } catch(RuntimeException | Error e){
+            deleteRuns(runPaths);
+            throw e;
+        }
+    }
+
+    /**
+     * @return estimated heap bytes of keys, & of their values
+     */
+    static private long keysBytes(final Object[] keys){
+        long keysBytes = arrayBytes(keys.length, REFERENCE_BYTES);
+        for(final Object key : keys){
+            if(key instanceof String){
+                // (2 bytes per char at most, for Strings that are not compacted)
+                keysBytes += align(OBJECT_HEADER_BYTES + 8) + arrayBytes(((String) key).length(), 2);
+            } else if(key != null){
+                // Boxed Primitive (or its estimate for other types)
+                keysBytes += align(OBJECT_HEADER_BYTES + 8);
+            }
+        }
+        return keysBytes;
+    }
+    static private long arrayBytes(int length, int elementBytes){
+        return align(ARRAY_HEADER_BYTES + (long) length * elementBytes);
+    }
+    static private long align(long bytes){
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * @return rows (indices in runKeys) in stably sorted order of their keys
+     */
+    static private int[] sortedRows(final List<Object[]> runKeys, final SortField[] sortFields){
+        final int[] sortedRows = IndexSort.identity(runKeys.size());
+        IndexSort.sort(sortedRows, (row0, row1) -> compareKeys(runKeys.get(row0), runKeys.get(row1), sortFields));
+        return sortedRows;
+    }
+    /**
+     * @return comparison of keys0 to keys1, the same as of their Objects by {@link SortPlan#getComparator()}
+     */
+    static private int compareKeys(final Object[] keys0, final Object[] keys1, final SortField[] sortFields){
+        for(final SortField curSortField : sortFields){
+            final int comparison;
+            try{
+                comparison = SortUtil.compareFieldValues(
+                    keys0[curSortField.precedenceIdx], keys1[curSortField.precedenceIdx], curSortField.descending);
+
+            } catch(NullPointerException e){
+                throw new RuntimeException(
+                    "Error getting field value (with index " + curSortField.precedenceIdx
+                        + " in sortFieldNamePrecedences), for sorting.",
+                    e);
+            }
+            if(comparison != 0){
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Stably sort a run by its keys, and write its records (in that sorted order) to a new temp file.
+     *
+     * @return Path of that temp file
+     */
+    static private Path spillRun(
+            final List<byte[]> runRecords, final List<Object[]> runKeys, final SortField[] sortFields,
+            final Path tempDirectory)
+            throws IOException{
+
+        final int[] sortedRows = sortedRows(runKeys, sortFields);
+
+        final Path runPath = tempDirectory == null
+            ? Files.createTempFile("sortRun", ".bin")
+            : Files.createTempFile(tempDirectory, "sortRun", ".bin");
+        try(final FileChannel fileChannel = FileChannel.open(runPath, StandardOpenOption.WRITE)){
+            final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES);
+            for(final int row : sortedRows){
+                final byte[] record = runRecords.get(row);
+                if(writeBuffer.remaining() < RECORD_LENGTH_BYTES){
+                    flush(writeBuffer, fileChannel);
+                }
+                writeBuffer.putInt(record.length);
+
+                // Records may be larger than writeBuffer, so write them in as many pieces as necessary
+                for(int recordIdx = 0; recordIdx < record.length; ){
+                    if(!writeBuffer.hasRemaining()){
+                        flush(writeBuffer, fileChannel);
+                    }
+                    final int pieceLength = Math.min(writeBuffer.remaining(), record.length - recordIdx);
+                    writeBuffer.put(record, recordIdx, pieceLength);
+                    recordIdx += pieceLength;
+                }
+            }
+            flush(writeBuffer, fileChannel);
+
+        } catch(IOException | RuntimeException | Error e){
+            Files.deleteIfExists(runPath);
+            throw e;
+        }
+        return runPath;
+    }
+    static private void flush(final ByteBuffer writeBuffer, final FileChannel fileChannel) throws IOException{
+        writeBuffer.flip();
+        while(writeBuffer.hasRemaining()){
+            fileChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    static private <T> Stream<T> mergeRuns(
+            final List<Path> runPaths, final Comparator<T> comparator, final RecordSerializer<T> recordSerializer)
+            throws IOException{
+
+        final List<RunIterator<T>> runIterators = new ArrayList<>(runPaths.size());
+        for(final Path runPath : runPaths){
+            try(final FileChannel fileChannel = FileChannel.open(runPath, StandardOpenOption.READ)){
+                // (the mapping remains valid after its FileChannel is closed)
+                runIterators.add(new RunIterator<>(
+                    fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()), recordSerializer));
+            }
+        }
+
+        final KWayMergeIterator<T> mergeIterator = new KWayMergeIterator<>(runIterators, comparator);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(mergeIterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> deleteRuns(runPaths));
+    }
+
+    static private void deleteRuns(final List<Path> runPaths){
+        for(final Path runPath : runPaths){
+            try{
+                Files.deleteIfExists(runPath);
+            } catch(IOException e){
+                // Best effort (e.g: some platforms do not allow deleting still-mapped files)
+                runPath.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    static private <T> T deserialize(final byte[] record, final RecordSerializer<T> recordSerializer){
+        try{
+            return recordSerializer.deserialize(record);
+
+        } catch(IOException e){
+            throw new UncheckedIOException("Error deserializing record, for external sorting.", e);
+        }
+    }
+
+    /**
+     * Iterator of the (deserialized) records in a memory-mapped run file.
+     */
+    static private final class RunIterator<T> implements Iterator<T> {
+
+        private final MappedByteBuffer mappedRun;
+        private final RecordSerializer<T> recordSerializer;
+
+        private RunIterator(final MappedByteBuffer mappedRun, final RecordSerializer<T> recordSerializer){
+            this.mappedRun = mappedRun;
+            this.recordSerializer = recordSerializer;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return mappedRun.hasRemaining();
+        }
+
+        @Override
+        public T next(){
+            if(!hasNext()){
+                throw new NoSuchElementException();
+            }
+
+            final byte[] record = new byte[mappedRun.getInt()];
+            mappedRun.get(record);
+            return deserialize(record, recordSerializer);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Decorate-sort-undecorate:<br>
+ * (1) Decorate - read each sort field exactly once per Object-to-sort, into {@link KeyColumn}s<br>
+ * (2) Sort - stably sort a permutation of row indices by comparing those KeyColumns (no more field reads)<br>
+ * (3) Undecorate - reorder the Objects-to-sort by that permutation<br>
+ * <br>
+ * This reads fields by Reflection O(t*s) times (rather than O(t*log(t)*s) times by comparator sorting),
+ * and the comparisons do not box any values.
+ */
+final class ExtractedKeySort {
+
+    private ExtractedKeySort(){}
+
+    /**
+     * Sort tList (in place) by sortPlan, ordering exactly the same as {@code tList.sort(sortPlan.getComparator())}.
+     *
+     * @param tList
+     * @param sortPlan
+     * @param <T> type of Objects to be sorted
+     */
+    static <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        final Object[] ts = tList.toArray();
+        reorder(tList, ts, sortedRows(ts, sortPlan));
+    }
+
+    /**
+     * @param ts Objects-to-sort (not modified)
+     * @param sortPlan
+     *
+     * @return rows (indices in ts) in stably sorted order of their Objects by sortPlan
+     */
+    static int[] sortedRows(@NotNull final Object[] ts, @NotNull final SortPlan<?> sortPlan){
+        final KeyColumn[] keyColumns = loadKeyColumns(ts, sortPlan);
+
+        final int[] rows = IndexSort.identity(ts.length);
+        IndexSort.sort(rows, (row0, row1) -> compareRows(keyColumns, row0, row1));
+        return rows;
+    }
+
+    static KeyColumn[] loadKeyColumns(@NotNull final Object[] ts, @NotNull final SortPlan<?> sortPlan){
+        final SortField[] sortFields = sortPlan.getSortFields();
+        final KeyColumn[] keyColumns = new KeyColumn[sortFields.length];
+        for(int curSortPrecedence = 0; curSortPrecedence < sortFields.length; ++curSortPrecedence){
+            keyColumns[curSortPrecedence] = KeyColumn.forSortField(sortFields[curSortPrecedence], ts.length);
+            keyColumns[curSortPrecedence].load(ts, 0, ts.length);
+        }
+        return keyColumns;
+    }
+
+    static int compareRows(@NotNull final KeyColumn[] keyColumns, int row0, int row1){
+        for(final KeyColumn keyColumn : keyColumns){
+            final int comparison = keyColumn.compare(row0, row1);
+            if(comparison != 0){
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Set tList to the ts Objects, in the order of rows.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void reorder(@NotNull final List<T> tList, @NotNull final Object[] ts, @NotNull final int[] rows){
+        final ListIterator<T> tListIterator = tList.listIterator();
+        for(final int row : rows){
+            tListIterator.next();
+            tListIterator.set((T) ts[row]);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Generates a reader class per {@link SortField}, whose one method reads the field's value
+ *  by the same bytecode as handwritten code would (e.g: `((Address) ((Customer) t).address).getZip()`):<br>
+ * (1) each accessor is a plain getfield/invokevirtual/invokeinterface instruction, bound at class-load time,
+ *      so the JIT inlines the whole read into its caller (unlike a MethodHandle held in an instance field,
+ *      which is not a constant to the JIT)<br>
+ * (2) primitive (& Boxed Primitive) values are returned unboxed, by {@link #readerType}<br>
+ * <br>
+ * Each reader class is defined by its own ClassLoader (a child of the first accessor's declaring Class's),
+ *  so it can be garbage collected along with its Comparator.
+ * Only public, non-static accessors of public Classes (visible from that ClassLoader) can be read so;
+ *  for any other SortField, {@link #newReader} returns null.
+ */
+final class FieldReaderGenerator {
+
+    static private final String READER_CLASS_NAME_PREFIX = "chrisellepola.generated.FieldReader";
+    static private final AtomicInteger READER_CLASS_COUNT = new AtomicInteger();
+
+    static private final int CLASS_FILE_VERSION = 52; // Java 8
+    static private final int ACC_PUBLIC = 0x0001;
+    static private final int ACC_FINAL = 0x0010;
+    static private final int ACC_SUPER = 0x0020;
+    static private final int MAX_STACK = 2;
+    static private final int MAX_LOCALS = 2;
+
+    static private final int ALOAD_0 = 0x2a;
+    static private final int ALOAD_1 = 0x2b;
+    static private final int F2D = 0x8d;
+    static private final int IRETURN = 0xac;
+    static private final int LRETURN = 0xad;
+    static private final int DRETURN = 0xaf;
+    static private final int ARETURN = 0xb0;
+    static private final int RETURN = 0xb1;
+    static private final int GETFIELD = 0xb4;
+    static private final int INVOKEVIRTUAL = 0xb6;
+    static private final int INVOKESPECIAL = 0xb7;
+    static private final int INVOKEINTERFACE = 0xb9;
+    static private final int CHECKCAST = 0xc0;
+
+    private FieldReaderGenerator(){
+    }
+
+    /**
+     * @param valueType declared type of a SortField's value
+     *
+     * @return functional interface a reader of valueType implements:<br>
+     *          {@link ToIntFunction} for int, short, byte, char & boolean (as 1 for true, 0 for false),<br>
+     *          {@link ToLongFunction} for long,<br>
+     *          {@link ToDoubleFunction} for float (widened exactly) & double,<br>
+     *          {@link Function} for any other type<br>
+     *          (each primitive type's Boxed Primitive the same as it, unboxed)
+     */
+    static Class<?> readerType(@NotNull final Class<?> valueType){
+        if(valueType == int.class || valueType == Integer.class
+                || valueType == short.class || valueType == Short.class
+                || valueType == byte.class || valueType == Byte.class
+                || valueType == char.class || valueType == Character.class
+                || valueType == boolean.class || valueType == Boolean.class){
+            return ToIntFunction.class;
+        } else if(valueType == long.class || valueType == Long.class){
+            return ToLongFunction.class;
+        } else if(valueType == float.class || valueType == Float.class
+                || valueType == double.class || valueType == Double.class){
+            return ToDoubleFunction.class;
+        } else {
+            return Function.class;
+        }
+    }
+
+    /**
+     * @param sortField SortField to read
+     *
+     * @return new reader of sortField (of {@link #readerType} of its valueType),
+     *          or null if sortField cannot be read by a generated class
+     */
+    static Object newReader(@NotNull final SortField sortField){
+        for(final Member accessor : sortField.accessors){
+            if(Modifier.isStatic(accessor.getModifiers())
+                    || !Modifier.isPublic(accessor.getDeclaringClass().getModifiers())){
+                return null;
+            }
+        }
+
+        try{
+            final ReaderClassLoader classLoader =
+                new ReaderClassLoader(sortField.accessors[0].getDeclaringClass().getClassLoader());
+            for(final Member accessor : sortField.accessors){
+                if(!isVisible(classLoader, accessor.getDeclaringClass())
+                        || !isVisible(classLoader, accessorType(accessor))){
+                    return null;
+                }
+            }
+
+            final String className = READER_CLASS_NAME_PREFIX + READER_CLASS_COUNT.incrementAndGet();
+            // Instantiating also links (verifies) the class
+            return classLoader.define(className, generateClass(className, sortField)).getConstructor().newInstance();
+
+        } catch(ReflectiveOperationException | LinkageError | SecurityException | IOException e){
+            return null;
+        }
+    }
+    /**
+     * @return whether type is the same Class by its name in classLoader (so the reader class links to it)
+     */
+    static private boolean isVisible(final ClassLoader classLoader, final Class<?> type){
+        if(type.isPrimitive()){
+            return true;
+        }
+        try{
+            return Class.forName(type.getName(), false, classLoader) == type;
+        } catch(ClassNotFoundException e){
+            return false;
+        }
+    }
+
+    static private byte[] generateClass(final String className, final SortField sortField) throws IOException{
+        final ConstantPool constantPool = new ConstantPool();
+        final Class<?> readerType = readerType(sortField.valueType);
+
+        final ByteArrayOutputStream initCode = new ByteArrayOutputStream();
+        initCode.write(ALOAD_0);
+        writeInstruction(initCode, INVOKESPECIAL,
+            constantPool.methodRef(Object.class, "<init>", "()V"));
+        initCode.write(RETURN);
+
+        final ByteArrayOutputStream readCode = new ByteArrayOutputStream();
+        readCode.write(ALOAD_1);
+        for(final Member accessor : sortField.accessors){
+            final Class<?> declaringClass = accessor.getDeclaringClass();
+            writeInstruction(readCode, CHECKCAST, constantPool.classRef(internalName(declaringClass)));
+            if(accessor instanceof Field){
+                writeInstruction(readCode, GETFIELD, constantPool.fieldRef(
+                    declaringClass, accessor.getName(), descriptor(accessorType(accessor))));
+            } else if(declaringClass.isInterface()){
+                writeInstruction(readCode, INVOKEINTERFACE, constantPool.methodRef(
+                    declaringClass, accessor.getName(), "()" + descriptor(accessorType(accessor))));
+                // Argument count (the receiver), then a zero byte
+                readCode.write(1);
+                readCode.write(0);
+            } else {
+                writeInstruction(readCode, INVOKEVIRTUAL, constantPool.methodRef(
+                    declaringClass, accessor.getName(), "()" + descriptor(accessorType(accessor))));
+            }
+        }
+        writeUnboxing(readCode, constantPool, sortField.valueType);
+        final String readMethodName;
+        final String readMethodDescriptor;
+        if(readerType == ToIntFunction.class){
+            readMethodName = "applyAsInt";
+            readMethodDescriptor = "(Ljava/lang/Object;)I";
+            readCode.write(IRETURN);
+        } else if(readerType == ToLongFunction.class){
+            readMethodName = "applyAsLong";
+            readMethodDescriptor = "(Ljava/lang/Object;)J";
+            readCode.write(LRETURN);
+        } else if(readerType == ToDoubleFunction.class){
+            readMethodName = "applyAsDouble";
+            readMethodDescriptor = "(Ljava/lang/Object;)D";
+            if(sortField.valueType == float.class || sortField.valueType == Float.class){
+                readCode.write(F2D);
+            }
+            readCode.write(DRETURN);
+        } else {
+            readMethodName = "apply";
+            readMethodDescriptor = "(Ljava/lang/Object;)Ljava/lang/Object;";
+            readCode.write(ARETURN);
+        }
+
+        final int thisClass = constantPool.classRef(className.replace('.', '/'));
+        final int superClass = constantPool.classRef(internalName(Object.class));
+        final int interfaceClass = constantPool.classRef(internalName(readerType));
+        final int codeAttributeName = constantPool.utf8("Code");
+        final int initName = constantPool.utf8("<init>");
+        final int initDescriptor = constantPool.utf8("()V");
+        final int readName = constantPool.utf8(readMethodName);
+        final int readDescriptor = constantPool.utf8(readMethodDescriptor);
+
+        final ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+        final DataOutputStream classFile = new DataOutputStream(classBytes);
+        classFile.writeInt(0xcafebabe);
+        classFile.writeShort(0);
+        classFile.writeShort(CLASS_FILE_VERSION);
+        constantPool.writeTo(classFile);
+        classFile.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        classFile.writeShort(thisClass);
+        classFile.writeShort(superClass);
+        classFile.writeShort(1);
+        classFile.writeShort(interfaceClass);
+        // No fields
+        classFile.writeShort(0);
+        classFile.writeShort(2);
+        writeMethod(classFile, initName, initDescriptor, codeAttributeName, initCode.toByteArray());
+        writeMethod(classFile, readName, readDescriptor, codeAttributeName, readCode.toByteArray());
+        // No class attributes
+        classFile.writeShort(0);
+        classFile.flush();
+        return classBytes.toByteArray();
+    }
+    /**
+     * Write the unboxing (if any) of a Boxed Primitive valueType, to its primitive value
+     *  (failing by a NullPointerException for a null value)
+     */
+    static private void writeUnboxing(
+            final ByteArrayOutputStream code, final ConstantPool constantPool, final Class<?> valueType)
+            throws IOException{
+
+        if(valueType == Integer.class || valueType == Short.class || valueType == Byte.class){
+            writeInstruction(code, INVOKEVIRTUAL, constantPool.methodRef(Number.class, "intValue", "()I"));
+        } else if(valueType == Character.class){
+            writeInstruction(code, INVOKEVIRTUAL, constantPool.methodRef(Character.class, "charValue", "()C"));
+        } else if(valueType == Boolean.class){
+            writeInstruction(code, INVOKEVIRTUAL, constantPool.methodRef(Boolean.class, "booleanValue", "()Z"));
+        } else if(valueType == Long.class){
+            writeInstruction(code, INVOKEVIRTUAL, constantPool.methodRef(Long.class, "longValue", "()J"));
+        } else if(valueType == Float.class){
+            writeInstruction(code, INVOKEVIRTUAL, constantPool.methodRef(Float.class, "floatValue", "()F"));
+        } else if(valueType == Double.class){
+            writeInstruction(code, INVOKEVIRTUAL, constantPool.methodRef(Double.class, "doubleValue", "()D"));
+        }
+    }
+    static private void writeInstruction(final ByteArrayOutputStream code, final int opcode, final int index){
+        code.write(opcode);
+        code.write(index >>> 8);
+        code.write(index);
+    }
+    static private void writeMethod(
+            final DataOutputStream classFile, final int name, final int descriptor, final int codeAttributeName,
+            final byte[] code) throws IOException{
+
+        classFile.writeShort(ACC_PUBLIC);
+        classFile.writeShort(name);
+        classFile.writeShort(descriptor);
+        classFile.writeShort(1);
+        classFile.writeShort(codeAttributeName);
+        // Attribute length:  max_stack, max_locals, code_length, code, & 2 empty tables' lengths
+        classFile.writeInt(2 + 2 + 4 + code.length + 2 + 2);
+        classFile.writeShort(MAX_STACK);
+        classFile.writeShort(MAX_LOCALS);
+        classFile.writeInt(code.length);
+        classFile.write(code);
+        // No exception table, nor attributes
+        classFile.writeShort(0);
+        classFile.writeShort(0);
+    }
+
+    static private Class<?> accessorType(final Member accessor){
+        return accessor instanceof Field ? ((Field) accessor).getType() : ((Method) accessor).getReturnType();
+    }
+    static private String internalName(final Class<?> type){
+        return type.getName().replace('.', '/');
+    }
+    static private String descriptor(final Class<?> type){
+        if(type == int.class){
+            return "I";
+        } else if(type == long.class){
+            return "J";
+        } else if(type == short.class){
+            return "S";
+        } else if(type == byte.class){
+            return "B";
+        } else if(type == char.class){
+            return "C";
+        } else if(type == boolean.class){
+            return "Z";
+        } else if(type == float.class){
+            return "F";
+        } else if(type == double.class){
+            return "D";
+        } else if(type.isArray()){
+            return internalName(type);
+        } else {
+            return "L" + internalName(type) + ";";
+        }
+    }
+
+    /**
+     * Constant pool of a class file being generated, each entry added once.
+     */
+    static private final class ConstantPool {
+
+        static private final int UTF8 = 1;
+        static private final int CLASS = 7;
+        static private final int FIELD_REF = 9;
+        static private final int METHOD_REF = 10;
+        static private final int INTERFACE_METHOD_REF = 11;
+        static private final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+        private final DataOutputStream entries = new DataOutputStream(entryBytes);
+        private final Map<String, Integer> entryIndices = new HashMap<>();
+        // Entries are indexed from 1
+        private int nextIndex = 1;
+
+        int utf8(final String value) throws IOException{
+            final String key = UTF8 + " " + value;
+            final Integer index = entryIndices.get(key);
+            if(index != null){
+                return index;
+            }
+            entries.writeByte(UTF8);
+            entries.writeUTF(value);
+            entryIndices.put(key, nextIndex);
+            return nextIndex++;
+        }
+        int classRef(final String internalName) throws IOException{
+            return ref(CLASS, utf8(internalName), -1);
+        }
+        int fieldRef(final Class<?> owner, final String name, final String descriptor) throws IOException{
+            return ref(FIELD_REF, classRef(internalName(owner)), nameAndType(name, descriptor));
+        }
+        int methodRef(final Class<?> owner, final String name, final String descriptor) throws IOException{
+            return ref(owner.isInterface() ? INTERFACE_METHOD_REF : METHOD_REF,
+                classRef(internalName(owner)), nameAndType(name, descriptor));
+        }
+        private int nameAndType(final String name, final String descriptor) throws IOException{
+            return ref(NAME_AND_TYPE, utf8(name), utf8(descriptor));
+        }
+        /**
+         * @param secondIndex index of the entry's second constant, or -1 if it has only one
+         */
+        private int ref(final int tag, final int firstIndex, final int secondIndex) throws IOException{
+            final String key = tag + " " + firstIndex + " " + secondIndex;
+            final Integer index = entryIndices.get(key);
+            if(index != null){
+                return index;
+            }
+            entries.writeByte(tag);
+            entries.writeShort(firstIndex);
+            if(secondIndex >= 0){
+                entries.writeShort(secondIndex);
+            }
+            entryIndices.put(key, nextIndex);
+            return nextIndex++;
+        }
+
+        void writeTo(final DataOutputStream classFile) throws IOException{
+            entries.flush();
+            classFile.writeShort(nextIndex);
+            entryBytes.writeTo(classFile);
+        }
+    }
+
+    /**
+     * ClassLoader defining one reader class.
+     */
+    static private final class ReaderClassLoader extends ClassLoader {
+
+        ReaderClassLoader(final ClassLoader parent){
+            super(parent);
+        }
+
+        Class<?> define(final String className, final byte[] classBytes){
+            return defineClass(className, classBytes, 0, classBytes.length);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+
+/**
+ * Stable sorting of int row indices (e.g: of {@link KeyColumn} rows), by a {@link RowComparator}.
+ */
+final class IndexSort {
+
+    // Ranges up to this size are insertion sorted (rather than further merge sorted)
+    static private final int INSERTION_SORT_THRESHOLD = 16;
+
+    private IndexSort(){}
+
+    /**
+     * Comparator of int rows (without boxing them).
+     */
+    @FunctionalInterface
+    interface RowComparator {
+        int compare(int row0, int row1);
+    }
+
+    /**
+     * @param size number of rows
+     *
+     * @return new array of the rows 0 to size (exclusive), in order
+     */
+    static int[] identity(int size){
+        final int[] rows = new int[size];
+        for(int row = 0; row < size; ++row){
+            rows[row] = row;
+        }
+        return rows;
+    }
+
+    /**
+     * Stably sort rows (between fromIdx inclusive & toIdx exclusive) by rowComparator, by merge sort.
+     *
+     * @param rows
+     * @param fromIdx
+     * @param toIdx
+     * @param rowComparator
+     */
+    static void sort(@NotNull final int[] rows, int fromIdx, int toIdx, @NotNull final RowComparator rowComparator){
+        if(toIdx - fromIdx < 2){
+            return;
+        }
+        if(fromIdx == 0){
+            mergeSort(Arrays.copyOf(rows, toIdx), rows, 0, toIdx, rowComparator);
+            return;
+        }
+
+        // Auxiliary array of just the range (rather than of all rows)
+        final int[] rangeRows = Arrays.copyOfRange(rows, fromIdx, toIdx);
+        mergeSort(rangeRows.clone(), rangeRows, 0, rangeRows.length, rowComparator);
+        System.arraycopy(rangeRows, 0, rows, fromIdx, rangeRows.length);
+    }
+    /**
+     * Same as {@link #sort(int[], int, int, RowComparator)}, but using scratchRows[fromIdx, toIdx)
+     *  as the auxiliary array (e.g: one shared by many sorts of small ranges, rather than one allocated per sort).
+     *
+     * @param scratchRows of at least toIdx length (contents are overwritten)
+     */
+    static void sort(
+            @NotNull final int[] rows, int fromIdx, int toIdx, @NotNull final RowComparator rowComparator,
+            @NotNull final int[] scratchRows){
+
+        if(toIdx - fromIdx < 2){
+            return;
+        }
+        System.arraycopy(rows, fromIdx, scratchRows, fromIdx, toIdx - fromIdx);
+        mergeSort(scratchRows, rows, fromIdx, toIdx, rowComparator);
+    }
+    static void sort(@NotNull final int[] rows, @NotNull final RowComparator rowComparator){
+        sort(rows, 0, rows.length, rowComparator);
+    }
+
+    /**
+     * Sort src[fromIdx, toIdx) into dest[fromIdx, toIdx), where src & dest start with the same contents
+     *  (alternating them as the auxiliary array at each recursion level).
+     */
+    static private void mergeSort(
+            final int[] src, final int[] dest, int fromIdx, int toIdx, final RowComparator rowComparator){
+
+        if(toIdx - fromIdx <= INSERTION_SORT_THRESHOLD){
+            insertionSort(dest, fromIdx, toIdx, rowComparator);
+            return;
+        }
+
+        final int midIdx = (fromIdx + toIdx) >>> 1;
+        mergeSort(dest, src, fromIdx, midIdx, rowComparator);
+        mergeSort(dest, src, midIdx, toIdx, rowComparator);
+
+        // Halves already in order:  just copy
+        if(rowComparator.compare(src[midIdx - 1], src[midIdx]) <= 0){
+            System.arraycopy(src, fromIdx, dest, fromIdx, toIdx - fromIdx);
+            return;
+        }
+
+        // Merge, taking from the left half on ties (for stability)
+        for(int destIdx = fromIdx, leftIdx = fromIdx, rightIdx = midIdx; destIdx < toIdx; ++destIdx){
+            if(rightIdx >= toIdx
+                    || (leftIdx < midIdx && rowComparator.compare(src[leftIdx], src[rightIdx]) <= 0)){
+                dest[destIdx] = src[leftIdx++];
+            } else {
+                dest[destIdx] = src[rightIdx++];
+            }
+        }
+    }
+
+    static private void insertionSort(final int[] rows, int fromIdx, int toIdx, final RowComparator rowComparator){
+        for(int idx = fromIdx + 1; idx < toIdx; ++idx){
+            final int row = rows[idx];
+            int insertIdx = idx;
+            while(insertIdx > fromIdx && rowComparator.compare(rows[insertIdx - 1], row) > 0){
+                rows[insertIdx] = rows[insertIdx - 1];
+                --insertIdx;
+            }
+            rows[insertIdx] = row;
+        }
+    }
+}
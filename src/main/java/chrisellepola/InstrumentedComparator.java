@@ -0,0 +1,150 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Comparator ordering exactly the same as {@link SortPlan#getComparator()},
+ *  while counting comparisons, comparisons past each sort precedence (ties on that sort field),
+ *  and time spent reading vs comparing sort field values:<br>
+ * (1) Every comparison is counted (in {@link LongAdder}s, so uncontended across threads)<br>
+ * (2) Only a sample of comparisons (on average 1 in {@value #FIELD_TIMING_SAMPLE_INTERVAL}, chosen at random)
+ *      is timed per field read & compare, as reading the clock costs about as much as a field read itself<br>
+ * <br>
+ * So the field times are of the sampled comparisons only (multiply them by {@value #FIELD_TIMING_SAMPLE_INTERVAL}
+ *  to estimate those of all comparisons); time a whole sort around it (as {@link SortInstrumentation} does).
+ *  Thread-safe (counts & times are summed over threads).
+ *
+ * @param <T> type of Objects to be compared
+ */
+public final class InstrumentedComparator<T> implements Comparator<T> {
+
+    static public final int FIELD_TIMING_SAMPLE_INTERVAL = 64;
+
+    private final SortPlan<T> sortPlan;
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder[] comparisonsPastPrecedence;
+    private final LongAdder fieldReadNanos = new LongAdder();
+    private final LongAdder fieldCompareNanos = new LongAdder();
+
+    /**
+     * @param sortPlan to compare by (see {@link SortPlan#forClass})
+     */
+    public InstrumentedComparator(@NotNull final SortPlan<T> sortPlan){
+        this.sortPlan = sortPlan;
+        comparisonsPastPrecedence = new LongAdder[sortPlan.getSortFields().length];
+        for(int curSortPrecedence = 0; curSortPrecedence < comparisonsPastPrecedence.length; ++curSortPrecedence){
+            comparisonsPastPrecedence[curSortPrecedence] = new LongAdder();
+        }
+    }
+
+    public SortPlan<T> getSortPlan(){
+        return sortPlan;
+    }
+
+    @Override
+    public int compare(final T t0, final T t1){
+        comparisons.increment();
+        if(ThreadLocalRandom.current().nextInt(FIELD_TIMING_SAMPLE_INTERVAL) == 0){
+            return compareTimed(t0, t1);
+        }
+
+        for(final SortField curSortField : sortPlan.getSortFields()){
+            final int comparison;
+            try{
+                comparison = SortUtil.compareFieldValues(
+                    curSortField.read(t0), curSortField.read(t1), curSortField.descending);
+
+            } catch(NullPointerException e){
+                throw wrap(curSortField, e);
+            }
+
+            if(comparison != 0){
+                return comparison;
+            }
+            comparisonsPastPrecedence[curSortField.precedenceIdx].increment();
+        }
+
+        return 0;
+    }
+    /**
+     * Same as {@link #compare}, but timing each field read & compare.
+     */
+    private int compareTimed(final T t0, final T t1){
+        for(final SortField curSortField : sortPlan.getSortFields()){
+            final int comparison;
+            try{
+                final long readStartNanos = System.nanoTime();
+                final Object t0Value = curSortField.read(t0);
+                final Object t1Value = curSortField.read(t1);
+                final long compareStartNanos = System.nanoTime();
+                comparison = SortUtil.compareFieldValues(t0Value, t1Value, curSortField.descending);
+                final long compareEndNanos = System.nanoTime();
+
+                fieldReadNanos.add(compareStartNanos - readStartNanos);
+                fieldCompareNanos.add(compareEndNanos - compareStartNanos);
+
+            } catch(NullPointerException e){
+                throw wrap(curSortField, e);
+            }
+
+            if(comparison != 0){
+                return comparison;
+            }
+            comparisonsPastPrecedence[curSortField.precedenceIdx].increment();
+        }
+
+        return 0;
+    }
+    static private RuntimeException wrap(final SortField sortField, final NullPointerException e){
+        return new RuntimeException(
+            "Error getting field value (with index " + sortField.precedenceIdx
+                + " in sortFieldNamePrecedences), for sorting.",
+            e);
+    }
+
+    public long getComparisons(){
+        return comparisons.sum();
+    }
+
+    /**
+     * @return per sort precedence, the number of comparisons that tied on that sort field
+     */
+    public long[] getComparisonsPastPrecedence(){
+        final long[] sums = new long[comparisonsPastPrecedence.length];
+        for(int curSortPrecedence = 0; curSortPrecedence < sums.length; ++curSortPrecedence){
+            sums[curSortPrecedence] = comparisonsPastPrecedence[curSortPrecedence].sum();
+        }
+        return sums;
+    }
+
+    /**
+     * @return time spent reading sort field values, in the sampled comparisons
+     *          (about 1 in {@value #FIELD_TIMING_SAMPLE_INTERVAL})
+     */
+    public long getFieldReadNanos(){
+        return fieldReadNanos.sum();
+    }
+
+    /**
+     * @return time spent comparing read sort field values, in the sampled comparisons
+     *          (about 1 in {@value #FIELD_TIMING_SAMPLE_INTERVAL})
+     */
+    public long getFieldCompareNanos(){
+        return fieldCompareNanos.sum();
+    }
+
+    /**
+     * Zero all counts (e.g: to reuse this Comparator for another sort).
+     */
+    public void reset(){
+        comparisons.reset();
+        for(final LongAdder comparisonsPastCurPrecedence : comparisonsPastPrecedence){
+            comparisonsPastCurPrecedence.reset();
+        }
+        fieldReadNanos.reset();
+        fieldCompareNanos.reset();
+    }
+}
@@ -0,0 +1,75 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Iterator merging k already-sorted source Iterators into one sorted Iterator, in O(log(k)) per element
+ *  (by a heap of each source's next element).<br>
+ * <br>
+ * Ties are taken from the earliest source first, so the merge orders exactly the same as
+ *  stably sorting the concatenation of the sources (in order).
+ *
+ * @param <T> type of Objects merged
+ */
+final class KWayMergeIterator<T> implements Iterator<T> {
+
+    private final PriorityQueue<SourceHead<T>> sourceHeads;
+
+    /**
+     * @param sources Iterators each already sorted by comparator
+     * @param comparator
+     */
+    KWayMergeIterator(
+            @NotNull final List<? extends Iterator<? extends T>> sources,
+            @NotNull final Comparator<? super T> comparator){
+
+        sourceHeads = new PriorityQueue<>(Math.max(1, sources.size()), (sourceHead0, sourceHead1) -> {
+            final int comparison = comparator.compare(sourceHead0.head, sourceHead1.head);
+            return comparison != 0 ? comparison : Integer.compare(sourceHead0.sourceIdx, sourceHead1.sourceIdx);
+        });
+        for(int sourceIdx = 0; sourceIdx < sources.size(); ++sourceIdx){
+            final Iterator<? extends T> source = sources.get(sourceIdx);
+            if(source.hasNext()){
+                sourceHeads.add(new SourceHead<>(sourceIdx, source));
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext(){
+        return !sourceHeads.isEmpty();
+    }
+
+    @Override
+    public T next(){
+        final SourceHead<T> sourceHead = sourceHeads.poll();
+        if(sourceHead == null){
+            throw new NoSuchElementException();
+        }
+
+        final T next = sourceHead.head;
+        if(sourceHead.source.hasNext()){
+            sourceHead.head = sourceHead.source.next();
+            sourceHeads.add(sourceHead);
+        }
+        return next;
+    }
+
+    static private final class SourceHead<T> {
+
+        private final int sourceIdx;
+        private final Iterator<? extends T> source;
+        private T head;
+
+        private SourceHead(int sourceIdx, final Iterator<? extends T> source){
+            this.sourceIdx = sourceIdx;
+            this.source = source;
+            head = source.next();
+        }
+    }
+}
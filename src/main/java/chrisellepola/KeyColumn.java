@@ -0,0 +1,289 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+
+/**
+ * One sort field's values, read once per Object-to-sort into a primitive-specialized column
+ * (int[], long[], double[], or case-folded String[]), for comparing rows without reading fields again.<br>
+ * <br>
+ * Rows are the indices of the Objects (in the array that was loaded from).
+ * Comparing rows orders exactly the same as comparing their Objects by {@link SortPlan#getComparator()}
+ *  on this column's sort field.
+ */
+abstract class KeyColumn {
+
+    final SortField sortField;
+
+    private KeyColumn(@NotNull final SortField sortField){
+        this.sortField = sortField;
+    }
+
+    /**
+     * @param sortField to make a column for
+     * @param size number of rows
+     *
+     * @return empty column, specialized per sortField type
+     */
+    static KeyColumn forSortField(@NotNull final SortField sortField, int size){
+        final Class<?> fieldType = sortField.valueType;
+        if(fieldType == int.class || fieldType == Integer.class
+                || fieldType == short.class || fieldType == Short.class
+                || fieldType == byte.class || fieldType == Byte.class){
+            return new IntColumn(sortField, size);
+        } else if(fieldType == char.class || fieldType == Character.class){
+            return new CharColumn(sortField, size);
+        } else if(fieldType == boolean.class || fieldType == Boolean.class){
+            return new BooleanColumn(sortField, size);
+        } else if(fieldType == long.class || fieldType == Long.class){
+            return new LongColumn(sortField, size);
+        } else if(fieldType == float.class || fieldType == Float.class
+                || fieldType == double.class || fieldType == Double.class){
+            // float widens to double exactly, preserving Float#compare order (including -0.0 & NaN)
+            return new DoubleColumn(sortField, size);
+        } else if(fieldType.isEnum()){
+            return new EnumColumn(sortField, size);
+        } else if(fieldType == String.class){
+            return new StringColumn(sortField, size);
+        } else {
+            return new ObjectColumn(sortField, size);
+        }
+    }
+
+    /**
+     * Read this column's sort field from ts[fromRow] (inclusive) to ts[toRow] (exclusive), into the same rows.
+     */
+    final void load(@NotNull final Object[] ts, int fromRow, int toRow){
+        for(int row = fromRow; row < toRow; ++row){
+            loadRow(ts, row);
+        }
+    }
+    /**
+     * Read this column's sort field from ts, into just the rows of rows[fromIdx] (inclusive)
+     *  to rows[toIdx] (exclusive).
+     */
+    final void load(@NotNull final Object[] ts, @NotNull final int[] rows, int fromIdx, int toIdx){
+        for(int idx = fromIdx; idx < toIdx; ++idx){
+            loadRow(ts, rows[idx]);
+        }
+    }
+    private void loadRow(final Object[] ts, int row){
+        try{
+            load(row, sortField.read(ts[row]));
+
+        } catch(NullPointerException e){
+            throw new RuntimeException(
+                "Error getting field value (with index " + sortField.precedenceIdx
+                    + " in sortFieldNamePrecedences), for sorting.",
+                e);
+        }
+    }
+    abstract void load(int row, Object value);
+
+    /**
+     * @return comparison of row0 to row1 (descending if the sort field is)
+     */
+    final int compare(int row0, int row1){
+        return sortField.descending ? compareAscending(row1, row0) : compareAscending(row0, row1);
+    }
+    abstract int compareAscending(int row0, int row1);
+
+    /**
+     * @return number of distinct values of a low-cardinality column (e.g: boolean), or else 0
+     */
+    int bucketCount(){
+        return 0;
+    }
+    /**
+     * @return bucket (from 0 until {@link #bucketCount()}) of row's value, in sort order
+     *          (i.e: reversed if the sort field is descending) - only for low-cardinality columns
+     */
+    final int bucket(int row){
+        return sortField.descending ? bucketCount() - 1 - ascendingBucket(row) : ascendingBucket(row);
+    }
+    int ascendingBucket(int row){
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " is not low-cardinality.");
+    }
+
+    /*
+     * COLUMNS
+     */
+
+    static final class IntColumn extends KeyColumn {
+        final int[] values;
+        IntColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new int[size];
+        }
+
+        @Override
+        void load(int row, Object value){
+            values[row] = ((Number) value).intValue();
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            return Integer.compare(values[row0], values[row1]);
+        }
+    }
+    /** Characters are folded once (per row) the same as {@link CaseInsensitiveCompare#compareChars} folds them */
+    static final class CharColumn extends KeyColumn {
+        final int[] values;
+        CharColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new int[size];
+        }
+
+        @Override
+        void load(int row, Object value){
+            values[row] = CaseInsensitiveCompare.foldChar((Character) value);
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            return Integer.compare(values[row0], values[row1]);
+        }
+    }
+    static final class BooleanColumn extends KeyColumn {
+        final int[] values;
+        BooleanColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new int[size];
+        }
+
+        @Override
+        void load(int row, Object value){
+            values[row] = (Boolean) value ? 1 : 0;
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            return Integer.compare(values[row0], values[row1]);
+        }
+
+        @Override
+        int bucketCount(){
+            return 2;
+        }
+        @Override
+        int ascendingBucket(int row){
+            return values[row];
+        }
+    }
+    /** Enums are compared by ordinal (the same as by Enum#compareTo) */
+    static final class EnumColumn extends KeyColumn {
+        final int[] values;
+        final int constantCount;
+        EnumColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new int[size];
+            constantCount = sortField.valueType.getEnumConstants().length;
+        }
+
+        @Override
+        void load(int row, Object value){
+            values[row] = ((Enum<?>) value).ordinal();
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            return Integer.compare(values[row0], values[row1]);
+        }
+
+        @Override
+        int bucketCount(){
+            return constantCount;
+        }
+        @Override
+        int ascendingBucket(int row){
+            return values[row];
+        }
+    }
+    static final class LongColumn extends KeyColumn {
+        final long[] values;
+        LongColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new long[size];
+        }
+
+        @Override
+        void load(int row, Object value){
+            values[row] = (Long) value;
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            return Long.compare(values[row0], values[row1]);
+        }
+    }
+    static final class DoubleColumn extends KeyColumn {
+        final double[] values;
+        DoubleColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new double[size];
+        }
+
+        @Override
+        void load(int row, Object value){
+            values[row] = ((Number) value).doubleValue();
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            return Double.compare(values[row0], values[row1]);
+        }
+    }
+    /**
+     * Strings are case-folded once (per row), and then compared case-sensitively
+     *  (but those that cannot be folded - see {@link CaseInsensitiveCompare#foldString} - are kept as they are,
+     *  and compared by {@link CaseInsensitiveCompare#compareStrings}).
+     */
+    static final class StringColumn extends KeyColumn {
+        final String[] values;
+        // Rows whose values are not folded (null while there are none)
+        private boolean[] unfolded;
+        StringColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new String[size];
+        }
+
+        @Override
+        void load(int row, Object value){
+            final String folded = CaseInsensitiveCompare.foldString((String) value);
+            if(folded != null){
+                values[row] = folded;
+            } else {
+                if(unfolded == null){
+                    unfolded = new boolean[values.length];
+                }
+                unfolded[row] = true;
+                values[row] = (String) value;
+            }
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            if(unfolded != null && (unfolded[row0] || unfolded[row1])){
+                // (Folding is idempotent, so a folded value compares the same as its original)
+                return CaseInsensitiveCompare.compareStrings(values[row0], values[row1]);
+            }
+            return values[row0].compareTo(values[row1]);
+        }
+    }
+    static final class ObjectColumn extends KeyColumn {
+        final Object[] values;
+        ObjectColumn(final SortField sortField, int size){
+            super(sortField);
+            values = new Object[size];
+        }
+
+        @Override
+        void load(int row, Object value){
+            values[row] = value;
+        }
+        @Override
+        int compareAscending(int row0, int row1){
+            try{
+                return SortUtil.compareFieldValues(values[row0], values[row1], false);
+
+            } catch(NullPointerException e){
+                throw new RuntimeException(
+                    "Error getting field value (with index " + sortField.precedenceIdx
+                        + " in sortFieldNamePrecedences), for sorting.",
+                    e);
+            }
+        }
+    }
+}
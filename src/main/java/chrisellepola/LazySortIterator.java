@@ -0,0 +1,94 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator of Objects in sorted order, sorting them only as far as they are iterated (by a lazily built heap):<br>
+ * (1) Nothing is read nor compared until the first Object is iterated<br>
+ * (2) Then each sort field is read once per Object (into {@link KeyColumn}s), and a min-heap of their rows
+ *      is built, in O(t)<br>
+ * (3) Each Object iterated is then polled from the heap, in O(log(t))<br>
+ * <br>
+ * So the first k Objects cost O(t + k*log(t)), and all of them O(t*log(t)) (the same as a full sort).
+ *  Ties are ordered by their original List index, so exactly the same as a full stable sort.
+ *
+ * @param <T> type of Objects iterated
+ */
+final class LazySortIterator<T> implements Iterator<T> {
+
+    private final Object[] ts;
+    private final SortPlan<T> sortPlan;
+    // Built on the first next()
+    private int[] heap;
+    private IndexSort.RowComparator rowComparator;
+    private int heapSize;
+
+    /**
+     * @param ts Objects-to-sort (not modified)
+     * @param sortPlan
+     */
+    LazySortIterator(@NotNull final Object[] ts, @NotNull final SortPlan<T> sortPlan){
+        this.ts = ts;
+        this.sortPlan = sortPlan;
+        heapSize = ts.length;
+    }
+
+    @Override
+    public boolean hasNext(){
+        return heapSize > 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next(){
+        if(heapSize == 0){
+            throw new NoSuchElementException();
+        }
+        if(heap == null){
+            buildHeap();
+        }
+
+        final int row = heap[0];
+        heap[0] = heap[--heapSize];
+        siftDown(0);
+        return (T) ts[row];
+    }
+
+    private void buildHeap(){
+        final KeyColumn[] keyColumns = ExtractedKeySort.loadKeyColumns(ts, sortPlan);
+        // Compare by KeyColumns, then by original index (for stability)
+        rowComparator = (row0, row1) -> {
+            final int comparison = ExtractedKeySort.compareRows(keyColumns, row0, row1);
+            return comparison != 0 ? comparison : Integer.compare(row0, row1);
+        };
+
+        heap = IndexSort.identity(ts.length);
+        for(int heapIdx = heapSize / 2 - 1; heapIdx >= 0; --heapIdx){
+            siftDown(heapIdx);
+        }
+    }
+
+    /**
+     * Restore the min-heap property below heapIdx.
+     */
+    private void siftDown(int heapIdx){
+        final int row = heap[heapIdx];
+        while(true){
+            int childIdx = 2 * heapIdx + 1;
+            if(childIdx >= heapSize){
+                break;
+            }
+            if(childIdx + 1 < heapSize && rowComparator.compare(heap[childIdx + 1], heap[childIdx]) < 0){
+                ++childIdx;
+            }
+            if(rowComparator.compare(heap[childIdx], row) >= 0){
+                break;
+            }
+            heap[heapIdx] = heap[childIdx];
+            heapIdx = childIdx;
+        }
+        heap[heapIdx] = row;
+    }
+}
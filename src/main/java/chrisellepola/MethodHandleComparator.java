@@ -0,0 +1,344 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Comparator by a {@link SortPlan}, specialized per sort field type:<br>
+ * (1) Field values are read by a reader class generated per field (see {@link FieldReaderGenerator}),
+ *      typed as the field's primitive type where applicable, so primitive (& Boxed Primitive) values
+ *      are never boxed by reading them, and the JIT inlines each read as if handwritten<br>
+ * (2) Values are compared by the matching primitive compare (e.g: {@link Integer#compare}, {@link Double#compare}),
+ *      or {@link CaseInsensitiveCompare} for String/Character values<br>
+ * <br>
+ * Orders exactly the same as {@link SortPlan#getComparator()}.
+ * A dotted path of fields (see {@link SortField}) is read by one reader, chaining each field's getter.
+ * Fields that cannot be read by a generated reader (e.g: of non-public Classes) are read through one MethodHandle
+ *  instead; those that cannot be read through a MethodHandle either (or static fields)
+ *  fall back to reading by Reflection and comparing by {@link SortUtil#compareFieldValues}.
+ * Fields of other types are compared by {@link SortUtil#compareFieldValues}.
+ *
+ * @param <T> type of Objects to be compared
+ */
+final class MethodHandleComparator<T> implements Comparator<T> {
+
+    private final FieldComparator[] fieldComparators;
+
+    MethodHandleComparator(@NotNull final SortPlan<T> sortPlan){
+        final SortField[] sortFields = sortPlan.getSortFields();
+        fieldComparators = new FieldComparator[sortFields.length];
+        for(int curSortPrecedence = 0; curSortPrecedence < sortFields.length; ++curSortPrecedence){
+            fieldComparators[curSortPrecedence] = makeFieldComparator(sortFields[curSortPrecedence]);
+        }
+    }
+
+    @Override
+    public int compare(T t0, T t1){
+        for(final FieldComparator fieldComparator : fieldComparators){
+            final int comparison;
+            try{
+                comparison = fieldComparator.descending
+                    ? fieldComparator.compare(t1, t0)
+                    : fieldComparator.compare(t0, t1);
+
+            } catch(RuntimeException | Error e){
+                throw e;
+            } catch(Throwable throwable){
+                // Checked exception thrown by a getter Method through a generated reader
+                //  (wrapped the same as by SortField#read)
+                throw fieldComparator.wrap(throwable);
+            }
+
+            if(comparison != 0){
+                return comparison;
+            }
+        }
+
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    static private FieldComparator makeFieldComparator(final SortField sortField){
+        Object reader = FieldReaderGenerator.newReader(sortField);
+        if(reader == null){
+            reader = makeMethodHandleReader(sortField);
+        }
+        if(reader == null){
+            return new ReflectionFieldComparator(sortField);
+        }
+
+        final Class<?> fieldType = sortField.valueType;
+        if(fieldType == int.class || fieldType == Integer.class
+                || fieldType == short.class || fieldType == Short.class
+                || fieldType == byte.class || fieldType == Byte.class){
+            return new IntFieldComparator(sortField, (ToIntFunction<Object>) reader);
+        } else if(fieldType == long.class || fieldType == Long.class){
+            return new LongFieldComparator(sortField, (ToLongFunction<Object>) reader);
+        } else if(fieldType == float.class || fieldType == Float.class
+                || fieldType == double.class || fieldType == Double.class){
+            // A float widens to double exactly, so Double#compare orders floats the same as Float#compare
+            return new DoubleFieldComparator(sortField, (ToDoubleFunction<Object>) reader);
+        } else if(fieldType == boolean.class || fieldType == Boolean.class){
+            // Read as 1 for true, 0 for false
+            return new IntFieldComparator(sortField, (ToIntFunction<Object>) reader);
+        } else if(fieldType == char.class || fieldType == Character.class){
+            return new CharFieldComparator(sortField, (ToIntFunction<Object>) reader);
+        } else if(fieldType == String.class){
+            return new StringFieldComparator(sortField, (Function<Object, Object>) reader);
+        } else {
+            return new ObjectFieldComparator(sortField, (Function<Object, Object>) reader);
+        }
+    }
+    /**
+     * @return reader of sortField (of {@link FieldReaderGenerator#readerType} of its valueType)
+     *          through one MethodHandle (not inlined as a generated reader is),
+     *          or null if it cannot be read through a MethodHandle
+     */
+    static private Object makeMethodHandleReader(final SortField sortField){
+        final MethodHandle getter;
+        try{
+            getter = unreflectAccessors(sortField.accessors);
+
+        } catch(IllegalAccessException e){
+            return null;
+        }
+        if(getter == null){
+            return null;
+        }
+
+        final Class<?> readerType = FieldReaderGenerator.readerType(sortField.valueType);
+        if(readerType == ToIntFunction.class){
+            final MethodHandle intGetter = typeGetter(getter, sortField.valueType, int.class);
+            return (ToIntFunction<Object>) t -> {
+                try{
+                    return (int) intGetter.invokeExact(t);
+                } catch(RuntimeException | Error e){
+                    throw e;
+                } catch(Throwable throwable){
+                    throw wrap(sortField, throwable);
+                }
+            };
+        } else if(readerType == ToLongFunction.class){
+            final MethodHandle longGetter = typeGetter(getter, sortField.valueType, long.class);
+            return (ToLongFunction<Object>) t -> {
+                try{
+                    return (long) longGetter.invokeExact(t);
+                } catch(RuntimeException | Error e){
+                    throw e;
+                } catch(Throwable throwable){
+                    throw wrap(sortField, throwable);
+                }
+            };
+        } else if(readerType == ToDoubleFunction.class){
+            final MethodHandle doubleGetter = typeGetter(getter, sortField.valueType, double.class);
+            return (ToDoubleFunction<Object>) t -> {
+                try{
+                    return (double) doubleGetter.invokeExact(t);
+                } catch(RuntimeException | Error e){
+                    throw e;
+                } catch(Throwable throwable){
+                    throw wrap(sortField, throwable);
+                }
+            };
+        } else {
+            final MethodHandle objectGetter = typeGetter(getter, sortField.valueType, Object.class);
+            return (Function<Object, Object>) t -> {
+                try{
+                    return (Object) objectGetter.invokeExact(t);
+                } catch(RuntimeException | Error e){
+                    throw e;
+                } catch(Throwable throwable){
+                    throw wrap(sortField, throwable);
+                }
+            };
+        }
+    }
+    /**
+     * @return one getter (Object)valueType through all of accessors in turn (or null if any of them is static)
+     */
+    static private MethodHandle unreflectAccessors(final Member[] accessors) throws IllegalAccessException{
+        MethodHandle getter = null;
+        for(final Member accessor : accessors){
+            if(Modifier.isStatic(accessor.getModifiers())){
+                return null;
+            }
+            final MethodHandle accessorGetter = accessor instanceof Field
+                ? MethodHandles.lookup().unreflectGetter((Field) accessor)
+                : MethodHandles.lookup().unreflect((Method) accessor);
+            getter = getter == null
+                ? accessorGetter
+                // Read accessor from the value read so far (widened to the accessor's declaring Class)
+                : MethodHandles.filterArguments(accessorGetter, 0,
+                    getter.asType(getter.type().changeReturnType(accessorGetter.type().parameterType(0))));
+        }
+        return getter;
+    }
+    /**
+     * @return getter adapted to type (Object)returnType:  unboxing the field's value if necessary
+     *          (failing for a null value), then widening it (or a boolean as 1 for true, 0 for false)
+     */
+    static private MethodHandle typeGetter(
+            final MethodHandle getter, final Class<?> valueType, final Class<?> returnType){
+
+        if(returnType == Object.class){
+            return getter.asType(MethodType.methodType(Object.class, Object.class));
+        }
+        final Class<?> primitiveType = MethodType.methodType(valueType).unwrap().returnType();
+        return MethodHandles.explicitCastArguments(
+            getter.asType(MethodType.methodType(primitiveType, Object.class)),
+            MethodType.methodType(returnType, Object.class));
+    }
+
+    static private RuntimeException wrap(final SortField sortField, final Throwable throwable){
+        return new RuntimeException(
+            "Error getting field value (with index " + sortField.precedenceIdx
+                + " in sortFieldNamePrecedences), for sorting.",
+            throwable);
+    }
+
+    /*
+     * FIELD COMPARATORS
+     */
+
+    static private abstract class FieldComparator {
+
+        final SortField sortField;
+        final boolean descending;
+
+        FieldComparator(final SortField sortField){
+            this.sortField = sortField;
+            this.descending = sortField.descending;
+        }
+
+        /**
+         * @return ascending comparison of sortField in t0 to sortField in t1
+         */
+        abstract int compare(Object t0, Object t1);
+
+        RuntimeException wrap(Throwable throwable){
+            return MethodHandleComparator.wrap(sortField, throwable);
+        }
+    }
+
+    static private final class IntFieldComparator extends FieldComparator {
+        private final ToIntFunction<Object> reader;
+        IntFieldComparator(final SortField sortField, final ToIntFunction<Object> reader){
+            super(sortField);
+            this.reader = reader;
+        }
+
+        @Override
+        int compare(Object t0, Object t1){
+            try{
+                return Integer.compare(reader.applyAsInt(t0), reader.applyAsInt(t1));
+            } catch(NullPointerException | ClassCastException e){
+                throw wrap(e);
+            }
+        }
+    }
+    static private final class LongFieldComparator extends FieldComparator {
+        private final ToLongFunction<Object> reader;
+        LongFieldComparator(final SortField sortField, final ToLongFunction<Object> reader){
+            super(sortField);
+            this.reader = reader;
+        }
+
+        @Override
+        int compare(Object t0, Object t1){
+            try{
+                return Long.compare(reader.applyAsLong(t0), reader.applyAsLong(t1));
+            } catch(NullPointerException | ClassCastException e){
+                throw wrap(e);
+            }
+        }
+    }
+    static private final class DoubleFieldComparator extends FieldComparator {
+        private final ToDoubleFunction<Object> reader;
+        DoubleFieldComparator(final SortField sortField, final ToDoubleFunction<Object> reader){
+            super(sortField);
+            this.reader = reader;
+        }
+
+        @Override
+        int compare(Object t0, Object t1){
+            try{
+                return Double.compare(reader.applyAsDouble(t0), reader.applyAsDouble(t1));
+            } catch(NullPointerException | ClassCastException e){
+                throw wrap(e);
+            }
+        }
+    }
+    static private final class CharFieldComparator extends FieldComparator {
+        private final ToIntFunction<Object> reader;
+        CharFieldComparator(final SortField sortField, final ToIntFunction<Object> reader){
+            super(sortField);
+            this.reader = reader;
+        }
+
+        @Override
+        int compare(Object t0, Object t1){
+            try{
+                return CaseInsensitiveCompare.compareChars((char) reader.applyAsInt(t0), (char) reader.applyAsInt(t1));
+            } catch(NullPointerException | ClassCastException e){
+                throw wrap(e);
+            }
+        }
+    }
+    static private final class StringFieldComparator extends FieldComparator {
+        private final Function<Object, Object> reader;
+        StringFieldComparator(final SortField sortField, final Function<Object, Object> reader){
+            super(sortField);
+            this.reader = reader;
+        }
+
+        @Override
+        int compare(Object t0, Object t1){
+            try{
+                return CaseInsensitiveCompare.compareStrings((String) reader.apply(t0), (String) reader.apply(t1));
+            } catch(NullPointerException | ClassCastException e){
+                throw wrap(e);
+            }
+        }
+    }
+    static private final class ObjectFieldComparator extends FieldComparator {
+        private final Function<Object, Object> reader;
+        ObjectFieldComparator(final SortField sortField, final Function<Object, Object> reader){
+            super(sortField);
+            this.reader = reader;
+        }
+
+        @Override
+        int compare(Object t0, Object t1){
+            try{
+                return SortUtil.compareFieldValues(reader.apply(t0), reader.apply(t1), false);
+            } catch(NullPointerException e){
+                throw wrap(e);
+            }
+        }
+    }
+    static private final class ReflectionFieldComparator extends FieldComparator {
+        ReflectionFieldComparator(final SortField sortField){
+            super(sortField);
+        }
+
+        @Override
+        int compare(Object t0, Object t1){
+            try{
+                return SortUtil.compareFieldValues(sortField.read(t0), sortField.read(t1), false);
+            } catch(NullPointerException e){
+                throw wrap(e);
+            }
+        }
+    }
+}
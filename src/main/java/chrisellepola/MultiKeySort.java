@@ -0,0 +1,116 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Column-wise multikey sort, refining tie groups one sort field at a time (in the style of MSD radix sort):<br>
+ * (1) Sort all rows by the first sort field only<br>
+ * (2) Find the groups of rows tying on that sort field<br>
+ * (3) Sort just within each of those groups by the next sort field (and so on, for each further sort field)<br>
+ * <br>
+ * A sort field is only read for Objects still tying on all prior sort fields (rather than every sort field
+ *  being read for every Object, or prior sort fields being compared again for every comparison of ties).
+ *  Low-cardinality sort fields (boolean & enum) are bucketed by a counting sort (rather than compared).<br>
+ * Each level is sorted stably, so the whole sort is stable.
+ */
+final class MultiKeySort {
+
+    private MultiKeySort(){}
+
+    /**
+     * Sort tList (in place) by sortPlan, ordering exactly the same as {@code tList.sort(sortPlan.getComparator())}.
+     *
+     * @param tList
+     * @param sortPlan
+     * @param <T> type of Objects to be sorted
+     */
+    static <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        final Object[] ts = tList.toArray();
+        ExtractedKeySort.reorder(tList, ts, sortedRows(ts, sortPlan));
+    }
+
+    /**
+     * @param ts Objects-to-sort (not modified)
+     * @param sortPlan
+     *
+     * @return rows (indices in ts) in stably sorted order of their Objects by sortPlan
+     */
+    static int[] sortedRows(@NotNull final Object[] ts, @NotNull final SortPlan<?> sortPlan){
+        final SortField[] sortFields = sortPlan.getSortFields();
+        final int[] rows = IndexSort.identity(ts.length);
+        if(sortFields.length == 0 || ts.length < 2){
+            return rows;
+        }
+
+        // Made once per sort precedence (only if any group ties down to it), & loaded only for rows in such groups
+        final KeyColumn[] keyColumns = new KeyColumn[sortFields.length];
+        // Shared by all groups' counting sorts & merge sorts (so each costs only its group's size)
+        final int[] scratchRows = new int[ts.length];
+
+        // Groups of {fromIdx, toIdx, sortPrecedence} left to sort:  rows[fromIdx, toIdx) by sortFields[sortPrecedence]
+        final Deque<int[]> groups = new ArrayDeque<>();
+        groups.push(new int[]{ 0, ts.length, 0 });
+        while(!groups.isEmpty()){
+            final int[] group = groups.pop();
+            final int fromIdx = group[0];
+            final int toIdx = group[1];
+            final int sortPrecedence = group[2];
+
+            KeyColumn keyColumn = keyColumns[sortPrecedence];
+            if(keyColumn == null){
+                keyColumn = KeyColumn.forSortField(sortFields[sortPrecedence], ts.length);
+                keyColumns[sortPrecedence] = keyColumn;
+            }
+            keyColumn.load(ts, rows, fromIdx, toIdx);
+
+            final int bucketCount = keyColumn.bucketCount();
+            if(bucketCount > 0 && bucketCount <= toIdx - fromIdx){
+                countingSort(rows, fromIdx, toIdx, keyColumn, bucketCount, scratchRows);
+            } else {
+                IndexSort.sort(rows, fromIdx, toIdx, keyColumn::compare, scratchRows);
+            }
+
+            /*
+             * Push each group (of more than 1 row) tying on this sort field, to refine by the next sort field */
+            if(sortPrecedence + 1 < sortFields.length){
+                int tieFromIdx = fromIdx;
+                for(int idx = fromIdx + 1; idx <= toIdx; ++idx){
+                    if(idx == toIdx || keyColumn.compare(rows[idx - 1], rows[idx]) != 0){
+                        if(idx - tieFromIdx > 1){
+                            groups.push(new int[]{ tieFromIdx, idx, sortPrecedence + 1 });
+                        }
+                        tieFromIdx = idx;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Stably sort rows[fromIdx, toIdx) by their buckets in keyColumn.
+     */
+    static private void countingSort(
+            final int[] rows, int fromIdx, int toIdx, final KeyColumn keyColumn, int bucketCount,
+            final int[] scratchRows){
+
+        // Start index (in scratchRows) per bucket
+        final int[] bucketStarts = new int[bucketCount + 1];
+        for(int idx = fromIdx; idx < toIdx; ++idx){
+            ++bucketStarts[keyColumn.bucket(rows[idx]) + 1];
+        }
+        bucketStarts[0] = fromIdx;
+        for(int bucket = 1; bucket <= bucketCount; ++bucket){
+            bucketStarts[bucket] += bucketStarts[bucket - 1];
+        }
+
+        for(int idx = fromIdx; idx < toIdx; ++idx){
+            final int row = rows[idx];
+            scratchRows[bucketStarts[keyColumn.bucket(row)]++] = row;
+        }
+        System.arraycopy(scratchRows, fromIdx, rows, fromIdx, toIdx - fromIdx);
+    }
+}
@@ -0,0 +1,214 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+
+/**
+ * Encodes all of a {@link SortPlan}'s sort field values of an Object into one binary normalized key:
+ *  a byte[] that compares byte-wise (unsigned, lexicographically - see {@link #compareKeys})
+ *  exactly the same as the Object compares by {@link SortPlan#getComparator()}.<br>
+ * <br>
+ * Per sort field (in precedence order):<br>
+ * (1) int, short, byte, long (& Boxed) - big-endian, with the sign bit flipped<br>
+ * (2) float, double (& Boxed) - big-endian bits (as {@link Float#compare}/{@link Double#compare} order them),
+ *      with the sign bit flipped for non-negatives, or all bits flipped for negatives<br>
+ * (3) boolean (& Boxed) - 1 byte (0 or 1)<br>
+ * (4) char (& Boxed) - case-folded (see {@link CaseInsensitiveCompare#foldChar}), big-endian<br>
+ * (5) String - case-folded chars big-endian, with 0x00 bytes escaped as 0x00 0xFF,
+ *      and terminated by 0x00 0x00 (so a shorter String orders before any it is a prefix of)<br>
+ * (6) descending fields have all of their bytes inverted<br>
+ * <br>
+ * Fields of any other type cannot be encoded (see {@link #canEncode}), nor can String values with any surrogate chars
+ *  (whose supplementary code points {@link String#compareToIgnoreCase} folds & orders differently by JVM version).
+ */
+final class NormalizedKeyEncoder {
+
+    private final SortField[] sortFields;
+    private final FieldType[] fieldTypes;
+    // Reused per encode (so not thread-safe)
+    private byte[] buffer = new byte[64];
+    private int bufferSize;
+
+    private enum FieldType { INT, LONG, FLOAT, DOUBLE, BOOLEAN, CHAR, STRING }
+
+    NormalizedKeyEncoder(@NotNull final SortPlan<?> sortPlan){
+        sortFields = sortPlan.getSortFields();
+        fieldTypes = new FieldType[sortFields.length];
+        for(int curSortPrecedence = 0; curSortPrecedence < sortFields.length; ++curSortPrecedence){
+            fieldTypes[curSortPrecedence] = fieldTypeOf(sortFields[curSortPrecedence]);
+            if(fieldTypes[curSortPrecedence] == null){
+                throw new IllegalArgumentException(
+                    "Field (with index " + curSortPrecedence + " in sortFieldNamePrecedences) of type "
+                        + sortFields[curSortPrecedence].valueType.getName()
+                        + " cannot be encoded into a normalized key.");
+            }
+        }
+    }
+
+    /**
+     * @return true if all of sortPlan's sort fields can be encoded
+     */
+    static boolean canEncode(@NotNull final SortPlan<?> sortPlan){
+        for(final SortField sortField : sortPlan.getSortFields()){
+            if(fieldTypeOf(sortField) == null){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static private FieldType fieldTypeOf(final SortField sortField){
+        final Class<?> fieldType = sortField.valueType;
+        if(fieldType == int.class || fieldType == Integer.class
+                || fieldType == short.class || fieldType == Short.class
+                || fieldType == byte.class || fieldType == Byte.class){
+            return FieldType.INT;
+        } else if(fieldType == long.class || fieldType == Long.class){
+            return FieldType.LONG;
+        } else if(fieldType == float.class || fieldType == Float.class){
+            return FieldType.FLOAT;
+        } else if(fieldType == double.class || fieldType == Double.class){
+            return FieldType.DOUBLE;
+        } else if(fieldType == boolean.class || fieldType == Boolean.class){
+            return FieldType.BOOLEAN;
+        } else if(fieldType == char.class || fieldType == Character.class){
+            return FieldType.CHAR;
+        } else if(fieldType == String.class){
+            return FieldType.STRING;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * @param t Object to encode the sort field values of
+     *
+     * @return new normalized key of t, or null if any of its String sort field values has any surrogate chars
+     */
+    byte[] encode(@NotNull final Object t){
+        bufferSize = 0;
+        for(int curSortPrecedence = 0; curSortPrecedence < sortFields.length; ++curSortPrecedence){
+            final SortField sortField = sortFields[curSortPrecedence];
+            final int fieldStartIdx = bufferSize;
+            try{
+                if(!encodeValue(fieldTypes[curSortPrecedence], sortField.read(t))){
+                    return null;
+                }
+
+            } catch(NullPointerException e){
+                throw new RuntimeException(
+                    "Error getting field value (with index " + sortField.precedenceIdx
+                        + " in sortFieldNamePrecedences), for sorting.",
+                    e);
+            }
+
+            if(sortField.descending){
+                for(int idx = fieldStartIdx; idx < bufferSize; ++idx){
+                    buffer[idx] = (byte) ~buffer[idx];
+                }
+            }
+        }
+        return Arrays.copyOf(buffer, bufferSize);
+    }
+
+    /**
+     * @return false if value could not be encoded (a String with any surrogate chars)
+     */
+    private boolean encodeValue(final FieldType fieldType, final Object value){
+        switch(fieldType){
+            case INT:
+                putInt(((Number) value).intValue() ^ Integer.MIN_VALUE);
+                break;
+            case LONG:
+                putLong((Long) value ^ Long.MIN_VALUE);
+                break;
+            case FLOAT:
+                final int floatBits = Float.floatToIntBits((Float) value);
+                putInt(floatBits ^ ((floatBits >> 31) | Integer.MIN_VALUE));
+                break;
+            case DOUBLE:
+                final long doubleBits = Double.doubleToLongBits((Double) value);
+                putLong(doubleBits ^ ((doubleBits >> 63) | Long.MIN_VALUE));
+                break;
+            case BOOLEAN:
+                ensureCapacity(1);
+                buffer[bufferSize++] = (byte) ((Boolean) value ? 1 : 0);
+                break;
+            case CHAR:
+                putChar(CaseInsensitiveCompare.foldChar((Character) value));
+                break;
+            case STRING:
+                final String string = (String) value;
+                ensureCapacity(4 * string.length() + 2);
+                for(int idx = 0; idx < string.length(); ++idx){
+                    final char c = string.charAt(idx);
+                    if(Character.isSurrogate(c)){
+                        return false;
+                    }
+                    final char folded = CaseInsensitiveCompare.foldChar(c);
+                    putEscapedByte((byte) (folded >>> 8));
+                    putEscapedByte((byte) folded);
+                }
+                // Terminator
+                buffer[bufferSize++] = 0;
+                buffer[bufferSize++] = 0;
+                break;
+        }
+        return true;
+    }
+
+    private void putInt(int value){
+        ensureCapacity(4);
+        buffer[bufferSize++] = (byte) (value >>> 24);
+        buffer[bufferSize++] = (byte) (value >>> 16);
+        buffer[bufferSize++] = (byte) (value >>> 8);
+        buffer[bufferSize++] = (byte) value;
+    }
+    private void putLong(long value){
+        putInt((int) (value >>> 32));
+        putInt((int) value);
+    }
+    private void putChar(char value){
+        ensureCapacity(2);
+        buffer[bufferSize++] = (byte) (value >>> 8);
+        buffer[bufferSize++] = (byte) value;
+    }
+    /** (capacity already ensured) */
+    private void putEscapedByte(byte value){
+        buffer[bufferSize++] = value;
+        if(value == 0){
+            buffer[bufferSize++] = (byte) 0xFF;
+        }
+    }
+    private void ensureCapacity(int additional){
+        if(bufferSize + additional > buffer.length){
+            buffer = Arrays.copyOf(buffer, Math.max(2 * buffer.length, bufferSize + additional));
+        }
+    }
+
+    /**
+     * Byte-wise (unsigned, lexicographic) comparison of normalized keys,
+     *  ordering the same as their Objects by {@link SortPlan#getComparator()}.
+     *
+     * @param key0
+     * @param key1
+     *
+     * @return comparison of key0 to key1
+     */
+    static int compareKeys(@NotNull final byte[] key0, @NotNull final byte[] key1){
+        return compareKeys(key0, key1, 0);
+    }
+    /**
+     * Same as {@link #compareKeys(byte[], byte[])}, but only from fromIdx on (where the keys are known to be equal
+     *  before fromIdx).
+     */
+    static int compareKeys(@NotNull final byte[] key0, @NotNull final byte[] key1, int fromIdx){
+        final int minLength = Math.min(key0.length, key1.length);
+        for(int idx = fromIdx; idx < minLength; ++idx){
+            if(key0[idx] != key1[idx]){
+                return (key0[idx] & 0xFF) - (key1[idx] & 0xFF);
+            }
+        }
+        return key0.length - key1.length;
+    }
+}
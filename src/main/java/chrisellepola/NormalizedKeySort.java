@@ -0,0 +1,135 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Sorts by binary normalized keys (see {@link NormalizedKeyEncoder}) with a stable MSD (most-significant-byte first)
+ * radix sort:<br>
+ * (1) Each Object's sort field values are read & encoded once, into one byte[] key<br>
+ * (2) Rows (Object indices) are distributed into 256 buckets by the key byte at the current depth
+ *      (plus 1 bucket for keys that already ended, which are all equal), then each bucket by the next byte, etc.<br>
+ * (3) Small buckets are instead insertion sorted by byte-wise comparison of the keys<br>
+ * <br>
+ * Runtime is O(t*k) for t Objects with keys of k bytes, with no per-comparison field dispatch.<br>
+ * If any Object cannot be encoded (see {@link NormalizedKeyEncoder#encode}), all are instead sorted
+ *  by {@link ExtractedKeySort}.
+ */
+final class NormalizedKeySort {
+
+    // Buckets up to this size are insertion sorted (rather than further distributed)
+    static private final int INSERTION_SORT_THRESHOLD = 32;
+    // 1 bucket for ended keys, plus 1 per byte value
+    static private final int BUCKETS = 1 + 256;
+
+    private NormalizedKeySort(){}
+
+    /**
+     * Sort tList (in place) by sortPlan, ordering exactly the same as {@code tList.sort(sortPlan.getComparator())}.
+     *
+     * @param tList
+     * @param sortPlan all of whose sort fields can be encoded (see {@link NormalizedKeyEncoder#canEncode})
+     * @param <T> type of Objects to be sorted
+     */
+    static <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        final Object[] ts = tList.toArray();
+        ExtractedKeySort.reorder(tList, ts, sortedRows(ts, sortPlan));
+    }
+
+    /**
+     * @param ts Objects-to-sort (not modified)
+     * @param sortPlan all of whose sort fields can be encoded (see {@link NormalizedKeyEncoder#canEncode})
+     *
+     * @return rows (indices in ts) in stably sorted order of their Objects by sortPlan
+     */
+    static int[] sortedRows(@NotNull final Object[] ts, @NotNull final SortPlan<?> sortPlan){
+        final NormalizedKeyEncoder normalizedKeyEncoder = new NormalizedKeyEncoder(sortPlan);
+        final byte[][] keys = new byte[ts.length][];
+        for(int row = 0; row < ts.length; ++row){
+            keys[row] = normalizedKeyEncoder.encode(ts[row]);
+            if(keys[row] == null){
+                return ExtractedKeySort.sortedRows(ts, sortPlan);
+            }
+        }
+
+        final int[] rows = IndexSort.identity(ts.length);
+        radixSort(keys, rows);
+        return rows;
+    }
+
+    /**
+     * Stably sort rows by their keys.
+     *
+     * @param keys normalized keys, per row
+     * @param rows to sort
+     */
+    static void radixSort(@NotNull final byte[][] keys, @NotNull final int[] rows){
+        final int[] aux = new int[rows.length];
+        final int[] bucketEnds = new int[BUCKETS + 1];
+
+        // (fromIdx, toIdx, depth) ranges of rows still to sort, all equal in their keys before depth
+        // (iterative rather than recursive, as depth can be as deep as the longest key)
+        final Deque<int[]> pendingRanges = new ArrayDeque<>();
+        pendingRanges.push(new int[]{ 0, rows.length, 0 });
+        while(!pendingRanges.isEmpty()){
+            final int[] range = pendingRanges.pop();
+            final int fromIdx = range[0];
+            final int toIdx = range[1];
+            final int depth = range[2];
+
+            if(toIdx - fromIdx <= INSERTION_SORT_THRESHOLD){
+                insertionSort(keys, rows, fromIdx, toIdx, depth);
+                continue;
+            }
+
+            /*
+             * Count per bucket, then offset each bucket's start */
+            Arrays.fill(bucketEnds, 0);
+            for(int idx = fromIdx; idx < toIdx; ++idx){
+                ++bucketEnds[bucket(keys[rows[idx]], depth) + 1];
+            }
+            for(int bucket = 0; bucket < BUCKETS; ++bucket){
+                bucketEnds[bucket + 1] += bucketEnds[bucket];
+            }
+
+            /*
+             * Distribute (stably), leaving bucketEnds[bucket] at the end of each bucket */
+            for(int idx = fromIdx; idx < toIdx; ++idx){
+                aux[fromIdx + bucketEnds[bucket(keys[rows[idx]], depth)]++] = rows[idx];
+            }
+            System.arraycopy(aux, fromIdx, rows, fromIdx, toIdx - fromIdx);
+
+            // Bucket 0 (keys ended at depth) are all equal, so only the byte buckets need further sorting
+            for(int bucket = 1; bucket < BUCKETS; ++bucket){
+                final int bucketFromIdx = fromIdx + bucketEnds[bucket - 1];
+                final int bucketToIdx = fromIdx + bucketEnds[bucket];
+                if(bucketToIdx - bucketFromIdx > 1){
+                    pendingRanges.push(new int[]{ bucketFromIdx, bucketToIdx, depth + 1 });
+                }
+            }
+        }
+    }
+
+    /**
+     * @return 0 if key ended before depth, else 1 + the (unsigned) byte at depth
+     */
+    static private int bucket(final byte[] key, int depth){
+        return depth < key.length ? (key[depth] & 0xFF) + 1 : 0;
+    }
+
+    static private void insertionSort(final byte[][] keys, final int[] rows, int fromIdx, int toIdx, int depth){
+        for(int idx = fromIdx + 1; idx < toIdx; ++idx){
+            final int row = rows[idx];
+            int insertIdx = idx;
+            while(insertIdx > fromIdx
+                    && NormalizedKeyEncoder.compareKeys(keys[rows[insertIdx - 1]], keys[row], depth) > 0){
+                rows[insertIdx] = rows[insertIdx - 1];
+                --insertIdx;
+            }
+            rows[insertIdx] = row;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable fork/join merge sort:<br>
+ * (1) Ranges up to serialThreshold are sorted serially (by {@link Arrays#sort}, which is stable)<br>
+ * (2) Larger ranges are split in halves that are sorted in parallel, then merged in parallel
+ *      (by splitting the merge at the middle of the larger half, and binary searching that value in the other)<br>
+ * <br>
+ * Ties are always taken from the left (earlier) half first, so ordering is exactly the same as {@link List#sort}.
+ */
+final class ParallelMergeSort {
+
+    static final int DEFAULT_SERIAL_THRESHOLD = 1 << 13;
+
+    private ParallelMergeSort(){}
+
+    /**
+     * Sort tList (in place) by comparator, in forkJoinPool.
+     *
+     * @param tList
+     * @param comparator thread-safe Comparator
+     * @param forkJoinPool to sort in
+     * @param serialThreshold (positive) size up to which Lists (or ranges of them) are sorted serially
+     * @param <T> type of Objects to be sorted
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sort(
+            @NotNull final List<T> tList, @NotNull final Comparator<? super T> comparator,
+            @NotNull final ForkJoinPool forkJoinPool, int serialThreshold){
+
+        if(serialThreshold < 1){
+            throw new IllegalArgumentException("serialThreshold must be positive: " + serialThreshold);
+        }
+        if(tList.size() <= serialThreshold){
+            tList.sort(comparator);
+            return;
+        }
+
+        final Object[] ts = tList.toArray();
+        forkJoinPool.invoke(new SortTask<>(
+            (T[]) ts, (T[]) new Object[ts.length], 0, ts.length, comparator, serialThreshold));
+
+        final ListIterator<T> tListIterator = tList.listIterator();
+        for(final Object t : ts){
+            tListIterator.next();
+            tListIterator.set((T) t);
+        }
+    }
+
+    /**
+     * Sort ts[fromIdx, toIdx), using aux[fromIdx, toIdx) as scratch space.
+     */
+    static private final class SortTask<T> extends RecursiveAction {
+
+        static private final long serialVersionUID = 1L;
+
+        private final T[] ts;
+        private final T[] aux;
+        private final int fromIdx;
+        private final int toIdx;
+        private final Comparator<? super T> comparator;
+        private final int serialThreshold;
+
+        SortTask(final T[] ts, final T[] aux, int fromIdx, int toIdx,
+                final Comparator<? super T> comparator, int serialThreshold){
+            this.ts = ts;
+            this.aux = aux;
+            this.fromIdx = fromIdx;
+            this.toIdx = toIdx;
+            this.comparator = comparator;
+            this.serialThreshold = serialThreshold;
+        }
+
+        @Override
+        protected void compute(){
+            if(toIdx - fromIdx <= serialThreshold){
+                Arrays.sort(ts, fromIdx, toIdx, comparator);
+                return;
+            }
+
+            final int midIdx = (fromIdx + toIdx) >>> 1;
+            invokeAll(
+                new SortTask<>(ts, aux, fromIdx, midIdx, comparator, serialThreshold),
+                new SortTask<>(ts, aux, midIdx, toIdx, comparator, serialThreshold));
+
+            // Halves already in order:  nothing to merge
+            if(comparator.compare(ts[midIdx - 1], ts[midIdx]) <= 0){
+                return;
+            }
+
+            new MergeTask<>(ts, fromIdx, midIdx, midIdx, toIdx, aux, fromIdx, comparator, serialThreshold).invoke();
+            System.arraycopy(aux, fromIdx, ts, fromIdx, toIdx - fromIdx);
+        }
+    }
+
+    /**
+     * Stably merge src[leftFromIdx, leftToIdx) & src[rightFromIdx, rightToIdx) into dest from destFromIdx
+     *  (taking ties from the left first).
+     */
+    static private final class MergeTask<T> extends RecursiveAction {
+
+        static private final long serialVersionUID = 1L;
+
+        private final T[] src;
+        private final int leftFromIdx;
+        private final int leftToIdx;
+        private final int rightFromIdx;
+        private final int rightToIdx;
+        private final T[] dest;
+        private final int destFromIdx;
+        private final Comparator<? super T> comparator;
+        private final int serialThreshold;
+
+        MergeTask(final T[] src, int leftFromIdx, int leftToIdx, int rightFromIdx, int rightToIdx,
+                final T[] dest, int destFromIdx, final Comparator<? super T> comparator, int serialThreshold){
+            this.src = src;
+            this.leftFromIdx = leftFromIdx;
+            this.leftToIdx = leftToIdx;
+            this.rightFromIdx = rightFromIdx;
+            this.rightToIdx = rightToIdx;
+            this.dest = dest;
+            this.destFromIdx = destFromIdx;
+            this.comparator = comparator;
+            this.serialThreshold = serialThreshold;
+        }
+
+        @Override
+        protected void compute(){
+            final int leftSize = leftToIdx - leftFromIdx;
+            final int rightSize = rightToIdx - rightFromIdx;
+            // (halves of under 2 cannot be split any further)
+            if(leftSize + rightSize <= serialThreshold || Math.max(leftSize, rightSize) < 2){
+                mergeSerially();
+                return;
+            }
+
+            /*
+             * Split both halves such that everything in the first splits orders before everything in the second
+             *  (with ties from the left half kept first) */
+            final int leftSplitIdx;
+            final int rightSplitIdx;
+            if(leftSize >= rightSize){
+                leftSplitIdx = (leftFromIdx + leftToIdx) >>> 1;
+                // First in right not less than the left split value
+                rightSplitIdx = binarySearch(src[leftSplitIdx], rightFromIdx, rightToIdx, false);
+            } else {
+                rightSplitIdx = (rightFromIdx + rightToIdx) >>> 1;
+                // First in left greater than the right split value
+                leftSplitIdx = binarySearch(src[rightSplitIdx], leftFromIdx, leftToIdx, true);
+            }
+
+            invokeAll(
+                new MergeTask<>(src, leftFromIdx, leftSplitIdx, rightFromIdx, rightSplitIdx,
+                    dest, destFromIdx, comparator, serialThreshold),
+                new MergeTask<>(src, leftSplitIdx, leftToIdx, rightSplitIdx, rightToIdx,
+                    dest, destFromIdx + (leftSplitIdx - leftFromIdx) + (rightSplitIdx - rightFromIdx),
+                    comparator, serialThreshold));
+        }
+
+        /**
+         * @param key
+         * @param fromIdx
+         * @param toIdx
+         * @param afterTies true for the first index of src[fromIdx, toIdx) greater than key,
+         *                  false for the first not less than key
+         *
+         * @return that index (toIdx if none)
+         */
+        private int binarySearch(final T key, int fromIdx, int toIdx, boolean afterTies){
+            while(fromIdx < toIdx){
+                final int midIdx = (fromIdx + toIdx) >>> 1;
+                final int comparison = comparator.compare(src[midIdx], key);
+                if(comparison < 0 || (afterTies && comparison == 0)){
+                    fromIdx = midIdx + 1;
+                } else {
+                    toIdx = midIdx;
+                }
+            }
+            return fromIdx;
+        }
+
+        private void mergeSerially(){
+            int leftIdx = leftFromIdx;
+            int rightIdx = rightFromIdx;
+            int destIdx = destFromIdx;
+            while(leftIdx < leftToIdx && rightIdx < rightToIdx){
+                if(comparator.compare(src[leftIdx], src[rightIdx]) <= 0){
+                    dest[destIdx++] = src[leftIdx++];
+                } else {
+                    dest[destIdx++] = src[rightIdx++];
+                }
+            }
+            System.arraycopy(src, leftIdx, dest, destIdx, leftToIdx - leftIdx);
+            destIdx += leftToIdx - leftIdx;
+            System.arraycopy(src, rightIdx, dest, destIdx, rightToIdx - rightIdx);
+        }
+    }
+}
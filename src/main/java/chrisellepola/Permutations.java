@@ -0,0 +1,166 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+/**
+ * Apply a permutation (e.g: from {@link SortUtil#sortedIndices}) to Lists & arrays in place:
+ *  afterwards, position i holds what was at position sortedIndices[i] before.<br>
+ * <br>
+ * Applied by following the permutation's cycles (swapping each element into place), without copying the List/array.
+ *  Positions are marked as visited in a boolean[] of their own, so sortedIndices is never modified
+ *  (and can be applied to other Lists, also concurrently).
+ *  sortedIndices is validated before anything is moved.
+ */
+public final class Permutations {
+
+    private Permutations(){}
+
+    /**
+     * @param sortedIndices permutation of 0 until sortedIndices.length
+     * @param list of the same size (reordered in place)
+     */
+    static public <E> void applyInPlace(@NotNull final int[] sortedIndices, @NotNull final List<E> list){
+        validate(sortedIndices, list.size());
+        if(!(list instanceof RandomAccess)){
+            // Positional access is slow, so permute an array of the elements instead, then set them in order
+            final Object[] elements = list.toArray();
+            applyValidated(sortedIndices, (idx0, idx1) -> swap(elements, idx0, idx1));
+            final ListIterator<E> listIterator = list.listIterator();
+            for(final Object element : elements){
+                listIterator.next();
+                listIterator.set(cast(element));
+            }
+            return;
+        }
+
+        applyValidated(sortedIndices, (idx0, idx1) -> list.set(idx1, list.set(idx0, list.get(idx1))));
+    }
+    @SuppressWarnings("unchecked")
+    static private <E> E cast(final Object element){
+        return (E) element;
+    }
+
+    /**
+     * @param sortedIndices permutation of 0 until sortedIndices.length
+     * @param array of the same length (reordered in place)
+     */
+    static public void applyInPlace(@NotNull final int[] sortedIndices, @NotNull final Object[] array){
+        validate(sortedIndices, array.length);
+        applyValidated(sortedIndices, (idx0, idx1) -> swap(array, idx0, idx1));
+    }
+    static private void swap(final Object[] array, int idx0, int idx1){
+        final Object element = array[idx0];
+        array[idx0] = array[idx1];
+        array[idx1] = element;
+    }
+
+    /**
+     * @param sortedIndices permutation of 0 until sortedIndices.length
+     * @param array of the same length (reordered in place)
+     */
+    static public void applyInPlace(@NotNull final int[] sortedIndices, @NotNull final int[] array){
+        validate(sortedIndices, array.length);
+        applyValidated(sortedIndices, (idx0, idx1) -> {
+            final int element = array[idx0];
+            array[idx0] = array[idx1];
+            array[idx1] = element;
+        });
+    }
+
+    /**
+     * @param sortedIndices permutation of 0 until sortedIndices.length
+     * @param array of the same length (reordered in place)
+     */
+    static public void applyInPlace(@NotNull final int[] sortedIndices, @NotNull final long[] array){
+        validate(sortedIndices, array.length);
+        applyValidated(sortedIndices, (idx0, idx1) -> {
+            final long element = array[idx0];
+            array[idx0] = array[idx1];
+            array[idx1] = element;
+        });
+    }
+
+    /**
+     * @param sortedIndices permutation of 0 until sortedIndices.length
+     * @param array of the same length (reordered in place)
+     */
+    static public void applyInPlace(@NotNull final int[] sortedIndices, @NotNull final double[] array){
+        validate(sortedIndices, array.length);
+        applyValidated(sortedIndices, (idx0, idx1) -> {
+            final double element = array[idx0];
+            array[idx0] = array[idx1];
+            array[idx1] = element;
+        });
+    }
+
+    /** Swaps the elements at 2 positions of whatever is being permuted */
+    private interface Swapper {
+        void swap(int idx0, int idx1);
+    }
+
+    /**
+     * Follow each cycle of sortedIndices from its first position, swapping the element each position is to hold
+     *  into it (so the cycle's first element moves along, until it reaches the last position of the cycle).
+     *
+     * @param sortedIndices validated permutation (not modified)
+     * @param swapper of what is being permuted
+     */
+    static private void applyValidated(final int[] sortedIndices, final Swapper swapper){
+        final boolean[] visited = new boolean[sortedIndices.length];
+        for(int start = 0; start < sortedIndices.length; ++start){
+            if(visited[start]){
+                continue;
+            }
+            visited[start] = true;
+            int idx = start;
+            for(int from = sortedIndices[idx]; from != start; from = sortedIndices[idx]){
+                swapper.swap(idx, from);
+                visited[from] = true;
+                idx = from;
+            }
+        }
+    }
+
+    /**
+     * @param sortedIndices permutation of 0 until sortedIndices.length
+     *
+     * @return new inverse permutation (i.e: the sorted position of each original index)
+     */
+    static public int[] inverse(@NotNull final int[] sortedIndices){
+        validate(sortedIndices, sortedIndices.length);
+        final int[] inverse = new int[sortedIndices.length];
+        for(int idx = 0; idx < sortedIndices.length; ++idx){
+            inverse[sortedIndices[idx]] = idx;
+        }
+        return inverse;
+    }
+
+    /**
+     * @throws IllegalArgumentException if sortedIndices is not a permutation of 0 until length
+     */
+    static void validate(@NotNull final int[] sortedIndices, int length){
+        if(sortedIndices.length != length){
+            throw new IllegalArgumentException(
+                "sortedIndices length " + sortedIndices.length + " is not the same as length " + length + ".");
+        }
+
+        for(int idx = 0; idx < sortedIndices.length; ++idx){
+            if(sortedIndices[idx] < 0 || sortedIndices[idx] >= length){
+                throw new IllegalArgumentException(
+                    "sortedIndices is not a permutation:  "
+                        + sortedIndices[idx] + " (at " + idx + ") is out of range.");
+            }
+        }
+        final boolean[] seen = new boolean[length];
+        for(int idx = 0; idx < sortedIndices.length; ++idx){
+            if(seen[sortedIndices[idx]]){
+                throw new IllegalArgumentException(
+                    "sortedIndices is not a permutation:  " + sortedIndices[idx] + " (at " + idx + ") is repeated.");
+            }
+            seen[sortedIndices[idx]] = true;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package chrisellepola;
+
+/**
+ * Type of a field of fixed-width binary records (see {@link RecordSchema}),
+ *  compared the same as the same (Boxed) type of field of Objects-to-sort is.<br>
+ * <br>
+ * Multi-byte values are read in the byte order of the ByteBuffer holding the records.
+ */
+public enum RecordFieldType {
+
+    BYTE(1),
+    SHORT(2),
+    INT(4),
+    LONG(8),
+    FLOAT(4),
+    DOUBLE(8),
+    /** UTF-16 char, compared ignoring case */
+    CHAR(2),
+    /** 1 byte, 0 for false (else true) */
+    BOOLEAN(1),
+    /**
+     * UTF-16 chars (2 bytes each) padded with '\0' chars up to the field's width, compared ignoring case
+     *  (trailing '\0' chars are padding, not part of the String)
+     */
+    STRING(0),
+    /**
+     * ISO-8859-1 chars (1 byte each) padded with '\0' bytes up to the field's width, compared ignoring case
+     *  (trailing '\0' bytes are padding, not part of the String)
+     */
+    LATIN1_STRING(0);
+
+    // Width in bytes (0 for Strings, which are of each field's given width)
+    final int width;
+
+    RecordFieldType(int width){
+        this.width = width;
+    }
+
+    boolean isString(){
+        return width == 0;
+    }
+}
@@ -0,0 +1,132 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Layout of fixed-width binary records (rows of the same width, back-to-back in a ByteBuffer),
+ *  mapping field names to their offsets (within each record), types, and widths - for sorting records
+ *  directly in the ByteBuffer, without deserializing them into Objects (see {@link SortUtil#sortRecords}).<br>
+ * <br>
+ * Fields are added (& validated to fit within the record width) by {@link #addField}.
+ *  A RecordSchema should not be changed while records are being sorted by it.
+ */
+public final class RecordSchema {
+
+    private final int recordWidth;
+    private final Map<String, RecordField> fields = new LinkedHashMap<>();
+
+    /**
+     * @param recordWidth (positive) bytes per record
+     */
+    public RecordSchema(int recordWidth){
+        if(recordWidth < 1){
+            throw new IllegalArgumentException("recordWidth must be positive: " + recordWidth);
+        }
+        this.recordWidth = recordWidth;
+    }
+
+    public int getRecordWidth(){
+        return recordWidth;
+    }
+
+    /**
+     * @return unmodifiable names of the fields, in the order they were added
+     */
+    public List<String> getFieldNames(){
+        return Collections.unmodifiableList(new ArrayList<>(fields.keySet()));
+    }
+
+    /**
+     * @param fieldName [non-empty] name (without any "-" dash) to sort by
+     * @param type of the field (other than the Strings, which have no fixed width)
+     * @param offset (non-negative) of the field, in bytes from the start of each record
+     *
+     * @return this RecordSchema
+     */
+    public RecordSchema addField(@NotEmpty final String fieldName, @NotNull final RecordFieldType type, int offset){
+        if(type.isString()){
+            throw new IllegalArgumentException(type + " fields need a width: " + fieldName);
+        }
+        return addField(fieldName, type, offset, type.width);
+    }
+    /**
+     * @param fieldName [non-empty] name (without any "-" dash) to sort by
+     * @param type of the field
+     * @param offset (non-negative) of the field, in bytes from the start of each record
+     * @param width (positive) of the field in bytes: the type's width, or for Strings, any width
+     *              (an even width for {@link RecordFieldType#STRING})
+     *
+     * @return this RecordSchema
+     */
+    public RecordSchema addField(
+            @NotEmpty final String fieldName, @NotNull final RecordFieldType type, int offset, int width){
+
+        if(fieldName.isEmpty() || fieldName.startsWith("-")){
+            throw new IllegalArgumentException("fieldName must be non-empty, without a \"-\" dash: " + fieldName);
+        }
+        if(fields.containsKey(fieldName)){
+            throw new IllegalArgumentException("fieldName is already in this RecordSchema: " + fieldName);
+        }
+        if(type.isString() ? width < 1 || (type == RecordFieldType.STRING && width % 2 != 0) : width != type.width){
+            throw new IllegalArgumentException("Invalid width " + width + " of " + type + " field: " + fieldName);
+        }
+        if(offset < 0 || (long) offset + width > recordWidth){
+            throw new IllegalArgumentException(
+                "Field " + fieldName + " (at offset " + offset + ", of width " + width
+                    + ") does not fit in records of width " + recordWidth + ".");
+        }
+
+        fields.put(fieldName, new RecordField(fieldName, type, offset, width, false));
+        return this;
+    }
+
+    /**
+     * Parse sortFieldNamePrecedences (with the same "-" dash syntax as {@link SortUtil#sortTopLevelValueObjectList})
+     *  & resolve them in this RecordSchema.
+     */
+    RecordField[] resolve(@NotNull final List<String> sortFieldNamePrecedences){
+        final RecordField[] recordFields = new RecordField[sortFieldNamePrecedences.size()];
+        for(int curSortPrecedence = 0; curSortPrecedence < recordFields.length; ++curSortPrecedence){
+            final String sortFieldNamePrecedence = sortFieldNamePrecedences.get(curSortPrecedence);
+            final boolean descending = sortFieldNamePrecedence.startsWith("-");
+            // Trim off any flag for descending
+            final RecordField recordField =
+                fields.get(descending ? sortFieldNamePrecedence.substring(1) : sortFieldNamePrecedence);
+            if(recordField == null){
+                throw new RuntimeException(
+                    "Error resolving field (with index " + curSortPrecedence
+                        + " in sortFieldNamePrecedences) in RecordSchema " + getFieldNames() + ", for sorting.");
+            }
+            recordFields[curSortPrecedence] = descending
+                ? new RecordField(recordField.fieldName, recordField.type, recordField.offset, recordField.width, true)
+                : recordField;
+        }
+        return recordFields;
+    }
+
+    /**
+     * One field of the records (with its sort direction, once resolved as a sort field).
+     */
+    static final class RecordField {
+
+        final String fieldName;
+        final RecordFieldType type;
+        final int offset;
+        final int width;
+        final boolean descending;
+
+        private RecordField(String fieldName, RecordFieldType type, int offset, int width, boolean descending){
+            this.fieldName = fieldName;
+            this.type = type;
+            this.offset = offset;
+            this.width = width;
+            this.descending = descending;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+
+/**
+ * Serializes Objects-to-sort to & from bytes, for sorting that spills them to disk
+ *  (see {@link SortUtil#sortTopLevelValueObjectsExternally}).
+ *
+ * @param <T> type of Objects to be sorted
+ */
+public interface RecordSerializer<T> {
+
+    /**
+     * @param t Object to serialize
+     *
+     * @return bytes that {@link #deserialize} restores t from
+     */
+    byte[] serialize(@NotNull T t) throws IOException;
+
+    /**
+     * @param bytes from {@link #serialize}
+     *
+     * @return Object restored from bytes
+     */
+    T deserialize(@NotNull byte[] bytes) throws IOException;
+}
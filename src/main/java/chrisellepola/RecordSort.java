@@ -0,0 +1,188 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Sorts fixed-width binary records (see {@link RecordSchema}) directly in a ByteBuffer
+ *  (e.g: a direct or memory-mapped ByteBuffer), without deserializing them into Objects:<br>
+ * (1) A permutation of record indices is stably sorted, comparing the records' fields in place in the ByteBuffer<br>
+ * (2) Optionally, the records are then moved into that order in place, by following the permutation's cycles
+ *      (so each record is moved once, through a single record-width scratch array)<br>
+ * <br>
+ * The only heap allocations are that permutation & the merge sort's scratch permutation (so 8 bytes per record),
+ *  & the record-width scratch arrays, so it can sort far more records than would fit in the heap as Objects.
+ *  Records are those from the ByteBuffer's position to its limit (neither of which is changed).
+ */
+final class RecordSort {
+
+    private RecordSort(){}
+
+    /**
+     * @param records ByteBuffer of records, from its position to its limit (not modified)
+     * @param recordSchema of the records
+     * @param sortFieldNamePrecedences names of fields in recordSchema, with the same "-" dash descending syntax as
+     *          {@link SortUtil#sortTopLevelValueObjectList}
+     *
+     * @return indices of the records (from 0, at the ByteBuffer's position), in stably sorted order
+     */
+    static int[] sortedRecordIndices(
+            @NotNull final ByteBuffer records, @NotNull final RecordSchema recordSchema,
+            @NotNull final List<String> sortFieldNamePrecedences){
+
+        final int recordWidth = recordSchema.getRecordWidth();
+        if(records.remaining() % recordWidth != 0){
+            throw new IllegalArgumentException(
+                records.remaining() + " bytes remaining is not a multiple of the record width " + recordWidth + ".");
+        }
+        final RecordSchema.RecordField[] sortFields = recordSchema.resolve(sortFieldNamePrecedences);
+        final int startOffset = records.position();
+
+        final int[] recordIndices = IndexSort.identity(records.remaining() / recordWidth);
+        IndexSort.sort(recordIndices, (recordIdx0, recordIdx1) -> {
+            final int recordOffset0 = startOffset + recordIdx0 * recordWidth;
+            final int recordOffset1 = startOffset + recordIdx1 * recordWidth;
+            for(final RecordSchema.RecordField sortField : sortFields){
+                final int fieldOffset0 = recordOffset0 + sortField.offset;
+                final int fieldOffset1 = recordOffset1 + sortField.offset;
+                final int comparison = sortField.descending
+                    ? compareField(records, fieldOffset1, fieldOffset0, sortField)
+                    : compareField(records, fieldOffset0, fieldOffset1, sortField);
+                if(comparison != 0){
+                    return comparison;
+                }
+            }
+            return 0;
+        });
+        return recordIndices;
+    }
+
+    /**
+     * Sort the records in place (see {@link #sortedRecordIndices}).
+     */
+    static void sort(
+            @NotNull final ByteBuffer records, @NotNull final RecordSchema recordSchema,
+            @NotNull final List<String> sortFieldNamePrecedences){
+
+        final int[] recordIndices = sortedRecordIndices(records, recordSchema, sortFieldNamePrecedences);
+
+        final int recordWidth = recordSchema.getRecordWidth();
+        final int startOffset = records.position();
+        // Own position, for bulk gets & puts
+        final ByteBuffer recordsView = records.duplicate();
+        final byte[] startRecord = new byte[recordWidth];
+        final byte[] movingRecord = new byte[recordWidth];
+
+        for(int start = 0; start < recordIndices.length; ++start){
+            if(recordIndices[start] < 0 || recordIndices[start] == start){
+                continue;
+            }
+            getRecord(recordsView, startOffset + start * recordWidth, startRecord);
+            int recordIdx = start;
+            while(true){
+                final int fromRecordIdx = recordIndices[recordIdx];
+                // Mark as moved
+                recordIndices[recordIdx] = ~fromRecordIdx;
+                if(fromRecordIdx == start){
+                    putRecord(recordsView, startOffset + recordIdx * recordWidth, startRecord);
+                    break;
+                }
+                getRecord(recordsView, startOffset + fromRecordIdx * recordWidth, movingRecord);
+                putRecord(recordsView, startOffset + recordIdx * recordWidth, movingRecord);
+                recordIdx = fromRecordIdx;
+            }
+        }
+    }
+    static private void getRecord(final ByteBuffer recordsView, int recordOffset, final byte[] record){
+        recordsView.position(recordOffset);
+        recordsView.get(record);
+    }
+    static private void putRecord(final ByteBuffer recordsView, int recordOffset, final byte[] record){
+        recordsView.position(recordOffset);
+        recordsView.put(record);
+    }
+
+    /**
+     * @return ascending comparison of the field at fieldOffset0 to the field at fieldOffset1
+     */
+    static private int compareField(
+            final ByteBuffer records, int fieldOffset0, int fieldOffset1, final RecordSchema.RecordField field){
+
+        switch(field.type){
+            case BYTE:
+                return Byte.compare(records.get(fieldOffset0), records.get(fieldOffset1));
+            case SHORT:
+                return Short.compare(records.getShort(fieldOffset0), records.getShort(fieldOffset1));
+            case INT:
+                return Integer.compare(records.getInt(fieldOffset0), records.getInt(fieldOffset1));
+            case LONG:
+                return Long.compare(records.getLong(fieldOffset0), records.getLong(fieldOffset1));
+            case FLOAT:
+                return Float.compare(records.getFloat(fieldOffset0), records.getFloat(fieldOffset1));
+            case DOUBLE:
+                return Double.compare(records.getDouble(fieldOffset0), records.getDouble(fieldOffset1));
+            case CHAR:
+                return CaseInsensitiveCompare.compareChars(
+                    records.getChar(fieldOffset0), records.getChar(fieldOffset1));
+            case BOOLEAN:
+                return Boolean.compare(records.get(fieldOffset0) != 0, records.get(fieldOffset1) != 0);
+            case STRING:
+                return compareStrings(records, fieldOffset0, fieldOffset1, field.width / 2, 2);
+            case LATIN1_STRING:
+                return compareStrings(records, fieldOffset0, fieldOffset1, field.width, 1);
+            default:
+                throw new IllegalStateException("Unknown RecordFieldType: " + field.type);
+        }
+    }
+
+    /**
+     * @return comparison (ignoring case) of the Strings at fieldOffset0 & fieldOffset1,
+     *          the same as {@link CaseInsensitiveCompare#compareStrings} of them
+     */
+    static private int compareStrings(
+            final ByteBuffer records, int fieldOffset0, int fieldOffset1, int maxLength, int charWidth){
+
+        final int length0 = stringLength(records, fieldOffset0, maxLength, charWidth);
+        final int length1 = stringLength(records, fieldOffset1, maxLength, charWidth);
+        final int minLength = Math.min(length0, length1);
+        for(int charIdx = 0; charIdx < minLength; ++charIdx){
+            final char char0 = readChar(records, fieldOffset0, charIdx, charWidth);
+            final char char1 = readChar(records, fieldOffset1, charIdx, charWidth);
+            if(char0 == char1){
+                continue;
+            }
+            if(Character.isSurrogate(char0) || Character.isSurrogate(char1)){
+                // Let String fold (supplementary) code points
+                return CaseInsensitiveCompare.compareStrings(
+                    readString(records, fieldOffset0, length0, charWidth),
+                    readString(records, fieldOffset1, length1, charWidth));
+            }
+            final int comparison = CaseInsensitiveCompare.compareChars(char0, char1);
+            if(comparison != 0){
+                return comparison;
+            }
+        }
+        return length0 - length1;
+    }
+    static private int stringLength(final ByteBuffer records, int fieldOffset, int maxLength, int charWidth){
+        int length = maxLength;
+        // Trim '\0' padding
+        while(length > 0 && readChar(records, fieldOffset, length - 1, charWidth) == 0){
+            --length;
+        }
+        return length;
+    }
+    static private char readChar(final ByteBuffer records, int fieldOffset, int charIdx, int charWidth){
+        return charWidth == 2
+            ? records.getChar(fieldOffset + 2 * charIdx)
+            : (char) (records.get(fieldOffset + charIdx) & 0xFF);
+    }
+    static private String readString(final ByteBuffer records, int fieldOffset, int length, int charWidth){
+        final char[] chars = new char[length];
+        for(int charIdx = 0; charIdx < length; ++charIdx){
+            chars[charIdx] = readChar(records, fieldOffset, charIdx, charWidth);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,161 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+
+/**
+ * One parsed & resolved entry of sortFieldNamePrecedences (see {@link SortPlan}):<br>
+ * its field name (with any "-" dash descending flag already trimmed off), its sort direction,
+ * and its resolved accessor chain.<br>
+ * <br>
+ * A field name may be a dotted path (e.g: "address.zip"), each name of which is resolved in the (declared) type
+ *  of the previous one (or tClass, for the first) as the first found of:<br>
+ * (1) a public variable field (e.g: `public String zip`)<br>
+ * (2) a public getter method (e.g: `getZip()`, or `isZip()` for a boolean)<br>
+ * (3) a public record component accessor (e.g: `zip()`, declared alongside a field `zip`)<br>
+ * Methods declared by Object (e.g: `getClass()`, `hashCode()`) and methods returning void are never accessors.<br>
+ * <br>
+ * A null Object along the path reads as a null value, which fails sorting (see {@link #read}).
+ */
+final class SortField {
+
+    final int precedenceIdx;
+    final String fieldName;
+    final boolean descending;
+    // Field or Method, for each name of the fieldName path
+    final Member[] accessors;
+    // Declared type of the value read by the last accessor
+    final Class<?> valueType;
+
+    private SortField(
+            int precedenceIdx, String fieldName, boolean descending, Member[] accessors, Class<?> valueType){
+
+        this.precedenceIdx = precedenceIdx;
+        this.fieldName = fieldName;
+        this.descending = descending;
+        this.accessors = accessors;
+        this.valueType = valueType;
+    }
+
+    /**
+     * Parse sortFieldNamePrecedence (e.g: "-nameToSortDescending", or "-address.zip") & resolve it in tClass.
+     *
+     * @param tClass Class of Objects to be sorted
+     * @param precedenceIdx index of sortFieldNamePrecedence in sortFieldNamePrecedences
+     * @param sortFieldNamePrecedence [non-empty] name (or dotted path) of variable field in tClass,
+     *          possibly prepended by "-"
+     *
+     * @return resolved SortField
+     */
+    static SortField resolve(
+            @NotNull final Class<?> tClass, int precedenceIdx, @NotEmpty final String sortFieldNamePrecedence){
+
+        final boolean descending = sortFieldNamePrecedence.startsWith("-");
+        // Trim off any flag for descending
+        final String fieldName = descending ? sortFieldNamePrecedence.substring(1) : sortFieldNamePrecedence;
+
+        try{
+            final String[] pathNames = fieldName.split("\\.", -1);
+            final Member[] accessors = new Member[pathNames.length];
+            Class<?> valueType = tClass;
+            for(int pathIdx = 0; pathIdx < pathNames.length; ++pathIdx){
+                accessors[pathIdx] = resolveAccessor(valueType, pathNames[pathIdx]);
+                valueType = accessors[pathIdx] instanceof Field
+                    ? ((Field) accessors[pathIdx]).getType()
+                    : ((Method) accessors[pathIdx]).getReturnType();
+            }
+            return new SortField(precedenceIdx, fieldName, descending, accessors, valueType);
+
+        } catch(NoSuchFieldException | NullPointerException | SecurityException e){
+            throw new RuntimeException(
+                "Error resolving field (with index " + precedenceIdx
+                    + " in sortFieldNamePrecedences) in " + tClass.getName() + ", for sorting.",
+                e);
+        }
+    }
+    static private Member resolveAccessor(final Class<?> ownerClass, final String name) throws NoSuchFieldException{
+        try{
+            return ownerClass.getField(name);
+        } catch(NoSuchFieldException e){
+            // else look for a getter (below)
+        }
+
+        if(!name.isEmpty()){
+            final String capitalizedName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for(final String methodName : new String[]{ "get" + capitalizedName, "is" + capitalizedName, name }){
+                try{
+                    final Method method = ownerClass.getMethod(methodName);
+                    if(isAccessor(method, name)){
+                        return method;
+                    }
+                } catch(NoSuchMethodException e){
+                    // else try the next methodName
+                }
+            }
+        }
+
+        throw new NoSuchFieldException(ownerClass.getName() + "." + name);
+    }
+
+    /**
+     * @return whether method reads the value named name:  neither declared by Object (e.g: getClass(), hashCode())
+     *          nor returning void, and either a getter (returning a boolean, if an "is" getter),
+     *          or a record component accessor (of the same name as a field declared alongside it)
+     */
+    static private boolean isAccessor(final Method method, final String name){
+        final Class<?> returnType = method.getReturnType();
+        if(returnType == void.class || method.getDeclaringClass() == Object.class){
+            return false;
+        }
+
+        if(method.getName().equals(name)){
+            try{
+                method.getDeclaringClass().getDeclaredField(name);
+                return true;
+            } catch(NoSuchFieldException e){
+                return false;
+            }
+        }
+        return !method.getName().startsWith("is") || returnType == boolean.class || returnType == Boolean.class;
+    }
+
+    /**
+     * @param t Object to read this field's value from
+     *
+     * @return this field's value in t (boxed if primitive),
+     *          or null if it (or any Object along its path, before it) is null:
+     *          there is no order of null values, so sorting by it then fails
+     *          (the same as for a null top-level value, in every SortMode)
+     */
+    Object read(@NotNull final Object t){
+        try{
+            Object value = t;
+            for(final Member accessor : accessors){
+                value = accessor instanceof Field
+                    ? ((Field) accessor).get(value)
+                    : ((Method) accessor).invoke(value);
+                if(value == null){
+                    // The rest of the path cannot be read:  read as a null value (failing sorting, by the caller)
+                    break;
+                }
+            }
+            return value;
+
+        } catch(NullPointerException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | ExceptionInInitializerError e){
+            throw new RuntimeException(
+                "Error getting field value (with index " + precedenceIdx
+                    + " in sortFieldNamePrecedences), for sorting.",
+                e);
+        }
+    }
+
+    @Override
+    public String toString(){
+        return descending ? "-" + fieldName : fieldName;
+    }
+}
@@ -0,0 +1,289 @@
+package chrisellepola;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.validation.constraints.NotNull;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Optional instrumentation of sorts (by the SortUtil sort entry points), reporting {@link SortMetrics}:<br>
+ * (1) Instrumentation is enabled while any {@link SortMetricsListener} is added (see {@link #addListener}),
+ *      or the JMX MBean is registered (see {@link #registerMBean()})<br>
+ * (2) While disabled, sorts are exactly as uninstrumented, but for reading one volatile boolean per sort<br>
+ * (3) While enabled, Comparator sorts compare by an {@link InstrumentedComparator} (counting every comparison,
+ *      but timing field reads & compares of only a sample of them), and are timed as a whole,
+ *      and {@link SortMode#SPECIALIZED_COMPARATOR} sorts count their comparisons (only).
+ *      Metrics not measured for a sort are reported as {@link SortMetrics#UNAVAILABLE}<br>
+ * <br>
+ * To instrument a Comparator used directly (rather than a SortUtil sort), see
+ *  {@link SortUtil#makeInstrumentedComparatorForPrecedence}.
+ */
+public final class SortInstrumentation {
+
+    static public final String MBEAN_OBJECT_NAME = "chrisellepola:type=SortMetrics";
+
+    static private final List<SortMetricsListener> LISTENERS = new CopyOnWriteArrayList<>();
+    static private volatile boolean enabled;
+    // Registered (& added as a listener) by registerMBean
+    static private SortMetricsTotals sortMetricsTotals;
+
+    private SortInstrumentation(){}
+
+    /**
+     * @param sortMetricsListener to be called after each sort (enabling instrumentation)
+     */
+    static public void addListener(@NotNull final SortMetricsListener sortMetricsListener){
+        if(sortMetricsListener == null){
+            throw new NullPointerException("SortMetricsListener must be non-null.");
+        }
+        // (Locked so that enabled is consistent with the last change to LISTENERS)
+        synchronized(LISTENERS){
+            LISTENERS.add(sortMetricsListener);
+            enabled = true;
+        }
+    }
+
+    /**
+     * @param sortMetricsListener to no longer be called (disabling instrumentation, if no listeners remain)
+     *
+     * @return true if removed
+     */
+    static public boolean removeListener(final SortMetricsListener sortMetricsListener){
+        synchronized(LISTENERS){
+            final boolean removed = LISTENERS.remove(sortMetricsListener);
+            enabled = !LISTENERS.isEmpty();
+            return removed;
+        }
+    }
+
+    static public boolean isEnabled(){
+        return enabled;
+    }
+
+    /**
+     * Register (once) the {@link SortMetricsMXBean} of totals of all sorts,
+     *  in the platform MBeanServer as {@link #MBEAN_OBJECT_NAME} (enabling instrumentation).
+     *
+     * @return the registered SortMetricsMXBean
+     */
+    static public synchronized SortMetricsMXBean registerMBean(){
+        if(sortMetricsTotals == null){
+            final SortMetricsTotals sortMetricsTotals = new SortMetricsTotals();
+            try{
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    sortMetricsTotals, new ObjectName(MBEAN_OBJECT_NAME));
+
+            } catch(JMException e){
+                throw new RuntimeException("Error registering " + MBEAN_OBJECT_NAME + " MBean, for sort metrics.", e);
+            }
+            addListener(sortMetricsTotals);
+            SortInstrumentation.sortMetricsTotals = sortMetricsTotals;
+        }
+        return sortMetricsTotals;
+    }
+
+    /**
+     * Unregister any MBean registered by {@link #registerMBean()}.
+     */
+    static public synchronized void unregisterMBean(){
+        if(sortMetricsTotals != null){
+            removeListener(sortMetricsTotals);
+            sortMetricsTotals = null;
+            try{
+                final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+                final ObjectName objectName = new ObjectName(MBEAN_OBJECT_NAME);
+                if(mBeanServer.isRegistered(objectName)){
+                    mBeanServer.unregisterMBean(objectName);
+                }
+
+            } catch(JMException e){
+                throw new RuntimeException(
+                    "Error unregistering " + MBEAN_OBJECT_NAME + " MBean, for sort metrics.", e);
+            }
+        }
+    }
+
+    /*
+     * INSTRUMENTED SORTS (only while enabled)
+     */
+
+    /**
+     * Sort tList by sortMode (see {@link SortMode#sort}), reporting its SortMetrics.
+     */
+    static <T> void sort(final List<T> tList, final SortPlan<T> sortPlan, final SortMode sortMode){
+        if(sortMode == SortMode.COMPARATOR){
+            final InstrumentedComparator<T> comparator = new InstrumentedComparator<>(sortPlan);
+
+            final long startNanos = System.nanoTime();
+            tList.sort(comparator);
+            report(sortPlan, sortMode, false, tList.size(), System.nanoTime() - startNanos, comparator);
+
+        } else if(sortMode == SortMode.SPECIALIZED_COMPARATOR){
+            // Only counted, as the specialized Comparator reads & compares all sort fields in one call
+            final Comparator<T> specializedComparator = sortPlan.getSpecializedComparator();
+            final long[] comparisons = new long[1];
+
+            final long startNanos = System.nanoTime();
+            tList.sort((t0, t1) -> {
+                ++comparisons[0];
+                return specializedComparator.compare(t0, t1);
+            });
+            report(sortPlan, sortMode, tList.size(), System.nanoTime() - startNanos, comparisons[0]);
+
+        } else {
+            // Not sorted by Comparator, so nothing to count
+            final long startNanos = System.nanoTime();
+            sortMode.sort(tList, sortPlan);
+            report(sortPlan, sortMode, tList.size(), System.nanoTime() - startNanos, SortMetrics.UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Sort tList in parallel (see {@link ParallelMergeSort#sort}), reporting its SortMetrics.
+     */
+    static <T> void sortInParallel(
+            final List<T> tList, final SortPlan<T> sortPlan, final ForkJoinPool forkJoinPool, int serialThreshold){
+
+        final InstrumentedComparator<T> comparator = new InstrumentedComparator<>(sortPlan);
+
+        final long startNanos = System.nanoTime();
+        ParallelMergeSort.sort(tList, comparator, forkJoinPool, serialThreshold);
+        report(sortPlan, SortMode.COMPARATOR, true, tList.size(), System.nanoTime() - startNanos, comparator);
+    }
+
+    static private void report(
+            final SortPlan<?> sortPlan, final SortMode sortMode, boolean parallel, int listSize, long sortNanos,
+            final InstrumentedComparator<?> comparator){
+
+        report(new SortMetrics(
+            sortPlan, sortMode, parallel, listSize, sortNanos, comparator.getComparisons(),
+            comparator.getComparisonsPastPrecedence(), comparator.getFieldReadNanos(),
+            comparator.getFieldCompareNanos()));
+    }
+    /**
+     * Report a (serial) sort of which only comparisons (if not {@link SortMetrics#UNAVAILABLE}) were counted.
+     */
+    static private void report(
+            final SortPlan<?> sortPlan, final SortMode sortMode, int listSize, long sortNanos, long comparisons){
+
+        final long[] comparisonsPastPrecedence = new long[sortPlan.getSortFields().length];
+        Arrays.fill(comparisonsPastPrecedence, SortMetrics.UNAVAILABLE);
+        report(new SortMetrics(
+            sortPlan, sortMode, false, listSize, sortNanos, comparisons,
+            comparisonsPastPrecedence, SortMetrics.UNAVAILABLE, SortMetrics.UNAVAILABLE));
+    }
+    static private void report(final SortMetrics sortMetrics){
+        for(final SortMetricsListener sortMetricsListener : LISTENERS){
+            sortMetricsListener.sortCompleted(sortMetrics);
+        }
+    }
+
+    /**
+     * Totals of all SortMetrics (since reset), as the registered MBean.
+     */
+    static private final class SortMetricsTotals implements SortMetricsMXBean, SortMetricsListener {
+
+        private long sortCount;
+        private long totalListSize;
+        private int lastListSize;
+        private long totalSortNanos;
+        private long lastSortNanos;
+        private String lastSortPlan = "";
+        private long totalComparisons;
+        private long[] totalComparisonsPastPrecedence = new long[0];
+        private long totalFieldReadNanos;
+        private long totalFieldCompareNanos;
+
+        @Override
+        public synchronized void sortCompleted(final SortMetrics sortMetrics){
+            ++sortCount;
+            totalListSize += sortMetrics.getListSize();
+            lastListSize = sortMetrics.getListSize();
+            totalSortNanos += sortMetrics.getSortNanos();
+            lastSortNanos = sortMetrics.getSortNanos();
+            lastSortPlan = "SortPlan" + sortMetrics.getSortFieldNamePrecedences()
+                + " for " + sortMetrics.getTClass().getName();
+            // (Only of the sorts they were measured for)
+            if(sortMetrics.getComparisons() != SortMetrics.UNAVAILABLE){
+                totalComparisons += sortMetrics.getComparisons();
+            }
+
+            final long[] comparisonsPastPrecedence = sortMetrics.getComparisonsPastPrecedence();
+            if(totalComparisonsPastPrecedence.length < comparisonsPastPrecedence.length){
+                totalComparisonsPastPrecedence =
+                    Arrays.copyOf(totalComparisonsPastPrecedence, comparisonsPastPrecedence.length);
+            }
+            for(int curSortPrecedence = 0; curSortPrecedence < comparisonsPastPrecedence.length; ++curSortPrecedence){
+                if(comparisonsPastPrecedence[curSortPrecedence] != SortMetrics.UNAVAILABLE){
+                    totalComparisonsPastPrecedence[curSortPrecedence] += comparisonsPastPrecedence[curSortPrecedence];
+                }
+            }
+
+            if(sortMetrics.getFieldReadNanos() != SortMetrics.UNAVAILABLE){
+                totalFieldReadNanos += sortMetrics.getFieldReadNanos();
+                totalFieldCompareNanos += sortMetrics.getFieldCompareNanos();
+            }
+        }
+
+        @Override
+        public synchronized long getSortCount(){
+            return sortCount;
+        }
+        @Override
+        public synchronized long getTotalListSize(){
+            return totalListSize;
+        }
+        @Override
+        public synchronized int getLastListSize(){
+            return lastListSize;
+        }
+        @Override
+        public synchronized long getTotalSortNanos(){
+            return totalSortNanos;
+        }
+        @Override
+        public synchronized long getLastSortNanos(){
+            return lastSortNanos;
+        }
+        @Override
+        public synchronized String getLastSortPlan(){
+            return lastSortPlan;
+        }
+        @Override
+        public synchronized long getTotalComparisons(){
+            return totalComparisons;
+        }
+        @Override
+        public synchronized long[] getTotalComparisonsPastPrecedence(){
+            return totalComparisonsPastPrecedence.clone();
+        }
+        @Override
+        public synchronized long getTotalFieldReadNanos(){
+            return totalFieldReadNanos;
+        }
+        @Override
+        public synchronized long getTotalFieldCompareNanos(){
+            return totalFieldCompareNanos;
+        }
+
+        @Override
+        public synchronized void reset(){
+            sortCount = 0;
+            totalListSize = 0;
+            lastListSize = 0;
+            totalSortNanos = 0;
+            lastSortNanos = 0;
+            lastSortPlan = "";
+            totalComparisons = 0;
+            totalComparisonsPastPrecedence = new long[0];
+            totalFieldReadNanos = 0;
+            totalFieldCompareNanos = 0;
+        }
+    }
+}
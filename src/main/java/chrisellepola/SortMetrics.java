@@ -0,0 +1,115 @@
+package chrisellepola;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Metrics of one instrumented sort (see {@link SortInstrumentation}), as passed to {@link SortMetricsListener}s.<br>
+ * <br>
+ * Metrics that were not measured for a sort are {@link #UNAVAILABLE} (rather than 0):<br>
+ * (1) {@link SortMode#COMPARATOR} & parallel sorts measure all metrics<br>
+ * (2) {@link SortMode#SPECIALIZED_COMPARATOR} sorts only count comparisons<br>
+ * (3) other SortModes (which do not compare by Comparator) only measure the list size & sort duration
+ */
+public final class SortMetrics {
+
+    /** Value of each metric that was not measured for the sort */
+    static public final long UNAVAILABLE = -1;
+
+    private final SortPlan<?> sortPlan;
+    private final SortMode sortMode;
+    private final boolean parallel;
+    private final int listSize;
+    private final long sortNanos;
+    private final long comparisons;
+    private final long[] comparisonsPastPrecedence;
+    private final long fieldReadNanos;
+    private final long fieldCompareNanos;
+
+    SortMetrics(
+            final SortPlan<?> sortPlan, final SortMode sortMode, boolean parallel, int listSize, long sortNanos,
+            long comparisons, final long[] comparisonsPastPrecedence, long fieldReadNanos, long fieldCompareNanos){
+
+        this.sortPlan = sortPlan;
+        this.sortMode = sortMode;
+        this.parallel = parallel;
+        this.listSize = listSize;
+        this.sortNanos = sortNanos;
+        this.comparisons = comparisons;
+        this.comparisonsPastPrecedence = comparisonsPastPrecedence;
+        this.fieldReadNanos = fieldReadNanos;
+        this.fieldCompareNanos = fieldCompareNanos;
+    }
+
+    public Class<?> getTClass(){
+        return sortPlan.getTClass();
+    }
+
+    public List<String> getSortFieldNamePrecedences(){
+        return sortPlan.getSortFieldNamePrecedences();
+    }
+
+    public SortMode getSortMode(){
+        return sortMode;
+    }
+
+    /**
+     * @return true if sorted by {@link SortUtil#sortTopLevelValueObjectListInParallel}
+     */
+    public boolean isParallel(){
+        return parallel;
+    }
+
+    public int getListSize(){
+        return listSize;
+    }
+
+    /**
+     * @return total duration of the sort (not including any printing)
+     */
+    public long getSortNanos(){
+        return sortNanos;
+    }
+
+    /**
+     * @return number of comparisons (or {@link #UNAVAILABLE})
+     */
+    public long getComparisons(){
+        return comparisons;
+    }
+
+    /**
+     * @return per sort precedence, the number of comparisons that tied on that sort field
+     *          (so went past it, to compare the next sort field - or else were ties on all sort fields),
+     *          or {@link #UNAVAILABLE} for each
+     */
+    public long[] getComparisonsPastPrecedence(){
+        return comparisonsPastPrecedence.clone();
+    }
+
+    /**
+     * @return time spent reading sort field values, in the comparisons sampled for timing
+     *          (about 1 in {@link InstrumentedComparator#FIELD_TIMING_SAMPLE_INTERVAL};
+     *          summed over threads, for parallel sorts), or {@link #UNAVAILABLE}
+     */
+    public long getFieldReadNanos(){
+        return fieldReadNanos;
+    }
+
+    /**
+     * @return time spent comparing read sort field values, in the comparisons sampled for timing
+     *          (about 1 in {@link InstrumentedComparator#FIELD_TIMING_SAMPLE_INTERVAL};
+     *          summed over threads, for parallel sorts), or {@link #UNAVAILABLE}
+     */
+    public long getFieldCompareNanos(){
+        return fieldCompareNanos;
+    }
+
+    @Override
+    public String toString(){
+        return "SortMetrics[" + sortPlan + ", " + sortMode + (parallel ? " (parallel)" : "")
+            + ", listSize=" + listSize + ", sortNanos=" + sortNanos + ", comparisons=" + comparisons
+            + ", comparisonsPastPrecedence=" + Arrays.toString(comparisonsPastPrecedence)
+            + ", fieldReadNanos=" + fieldReadNanos + ", fieldCompareNanos=" + fieldCompareNanos + "]";
+    }
+}
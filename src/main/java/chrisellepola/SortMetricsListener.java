@@ -0,0 +1,16 @@
+package chrisellepola;
+
+/**
+ * Listener of the metrics of each instrumented sort (see {@link SortInstrumentation#addListener}).
+ */
+@FunctionalInterface
+public interface SortMetricsListener {
+
+    /**
+     * Called (on the sorting thread) after each sort, while any listener is added.
+     * Should be quick, and not throw.
+     *
+     * @param sortMetrics of the sort
+     */
+    void sortCompleted(SortMetrics sortMetrics);
+}
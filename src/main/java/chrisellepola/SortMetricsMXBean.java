@@ -0,0 +1,41 @@
+package chrisellepola;
+
+/**
+ * JMX view of the totals of all instrumented sorts since registered (or reset) -
+ *  see {@link SortInstrumentation#registerMBean()}.<br>
+ * Totals of comparison & field time metrics are only of the sorts that measured them
+ *  (see {@link SortMetrics#UNAVAILABLE}).
+ */
+public interface SortMetricsMXBean {
+
+    long getSortCount();
+
+    long getTotalListSize();
+
+    int getLastListSize();
+
+    long getTotalSortNanos();
+
+    long getLastSortNanos();
+
+    /**
+     * @return the SortPlan of the last sort (e.g: "SortPlan[-name2, name0] for SomeObject")
+     */
+    String getLastSortPlan();
+
+    long getTotalComparisons();
+
+    /**
+     * @return per sort precedence (of all sorts), the number of comparisons that tied on that sort field
+     */
+    long[] getTotalComparisonsPastPrecedence();
+
+    long getTotalFieldReadNanos();
+
+    long getTotalFieldCompareNanos();
+
+    /**
+     * Zero all totals.
+     */
+    void reset();
+}
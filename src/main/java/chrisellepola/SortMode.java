@@ -0,0 +1,86 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+/**
+ * How {@link SortUtil#sortTopLevelValueObjectList(List, SortPlan, SortMode)} sorts.<br>
+ * <br>
+ * All modes order exactly the same (including being stable for ties):
+ *  they only differ in performance characteristics.
+ */
+public enum SortMode {
+
+    /**
+     * {@link List#sort} by {@link SortPlan#getComparator()} (the default)
+     */
+    COMPARATOR {
+        @Override
+        <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+            tList.sort(sortPlan.getComparator());
+        }
+    },
+    /**
+     * {@link List#sort} by {@link SortPlan#getSpecializedComparator()}
+     */
+    SPECIALIZED_COMPARATOR {
+        @Override
+        <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+            tList.sort(sortPlan.getSpecializedComparator());
+        }
+    },
+    /**
+     * Decorate-sort-undecorate:  each sort field is read exactly once per Object,
+     *  into primitive-specialized columns that are then sorted by (see {@link ExtractedKeySort}).<br>
+     * Uses O(t*s) extra space for those columns.
+     */
+    EXTRACTED_KEYS {
+        @Override
+        <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+            ExtractedKeySort.sort(tList, sortPlan);
+        }
+    },
+    /**
+     * Column-wise:  sorts by the first sort field, then only within each group of ties by the next sort field
+     *  (and so on), so each sort field is only read for Objects tying on all prior sort fields
+     *  (see {@link MultiKeySort}). Boolean & enum sort fields are bucketed by counting sort.<br>
+     * Best for many sort fields with many ties.
+     */
+    MULTIKEY {
+        @Override
+        <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+            MultiKeySort.sort(tList, sortPlan);
+        }
+    },
+    /**
+     * Each Object's sort field values are encoded once into one binary normalized key,
+     *  and those keys are radix sorted (see {@link NormalizedKeySort}) - near-linear for large Lists.<br>
+     * Falls back to {@link #EXTRACTED_KEYS} if any sort field is not a primitive, Boxed Primitive, or String.
+     */
+    NORMALIZED_KEYS {
+        @Override
+        <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+            if(NormalizedKeyEncoder.canEncode(sortPlan)){
+                NormalizedKeySort.sort(tList, sortPlan);
+            } else {
+                EXTRACTED_KEYS.sort(tList, sortPlan);
+            }
+        }
+    },
+    /**
+     * Presortedness-aware:  detects the sorted prefix of tList, sorts only the (unsorted) tail after it,
+     *  then merges that into the prefix (see {@link AdaptiveSort}).<br>
+     * Best for a sorted List (e.g: from a previous sort) with a small tail of new Objects appended.
+     */
+    ADAPTIVE {
+        @Override
+        <T> void sort(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+            AdaptiveSort.sort(tList, sortPlan);
+        }
+    };
+
+    /**
+     * Sort tList (in place) by sortPlan.
+     */
+    abstract <T> void sort(@NotNull List<T> tList, @NotNull SortPlan<T> sortPlan);
+}
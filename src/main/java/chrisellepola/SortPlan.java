@@ -0,0 +1,182 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * sortFieldNamePrecedences (see {@link SortUtil#sortTopLevelValueObjectList}) parsed once,
+ * and resolved & validated once against the Class of Objects to be sorted.<br>
+ * <br>
+ * Comparisons made with a SortPlan (see {@link #getComparator()}) do no parsing of sortFieldNamePrecedences,
+ * nor any Reflection field lookups - those are all done once up front, when the SortPlan is made.<br>
+ * <br>
+ * SortPlans are immutable (and so thread-safe), and are cached per (Class, sortFieldNamePrecedences):
+ * repeated calls to {@link #forClass} with equal arguments return the same SortPlan (while it is cached).<br>
+ * Each Class caches up to {@value #MAX_CACHED_PLANS_PER_CLASS} SortPlans (the least-recently used are evicted),
+ *  held by the Class itself (through a ClassValue), so the cache does not keep a Class from being unloaded.
+ *
+ * @param <T> type of Objects to be sorted
+ */
+public final class SortPlan<T> {
+
+    static private final int MAX_CACHED_PLANS_PER_CLASS = 64;
+
+    // Per Class:  SortPlans by sortFieldNamePrecedences (each a cached, unmodifiable copy)
+    static private final ClassValue<Map<List<String>, SortPlan<?>>> CACHE =
+        new ClassValue<Map<List<String>, SortPlan<?>>>() {
+            @Override
+            protected Map<List<String>, SortPlan<?>> computeValue(final Class<?> tClass){
+                return new LinkedHashMap<List<String>, SortPlan<?>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(final Map.Entry<List<String>, SortPlan<?>> eldest){
+                        return size() > MAX_CACHED_PLANS_PER_CLASS;
+                    }
+                };
+            }
+        };
+
+    private final Class<T> tClass;
+    private final List<String> sortFieldNamePrecedences;
+    private final SortField[] sortFields;
+    private final Comparator<T> comparator;
+    // Made lazily (& idempotently) by getSpecializedComparator, as it is opt-in
+    private volatile Comparator<T> specializedComparator;
+
+    private SortPlan(@NotNull final Class<T> tClass, @NotEmpty final List<String> sortFieldNamePrecedences){
+        this.tClass = tClass;
+        this.sortFieldNamePrecedences = sortFieldNamePrecedences;
+
+        sortFields = new SortField[sortFieldNamePrecedences.size()];
+        for(int curSortPrecedence = 0; curSortPrecedence < sortFields.length; ++curSortPrecedence){
+            sortFields[curSortPrecedence] =
+                SortField.resolve(tClass, curSortPrecedence, sortFieldNamePrecedences.get(curSortPrecedence));
+        }
+
+        comparator = this::compare;
+    }
+
+    /**
+     * @param tClass Class of Objects to be sorted
+     * @param sortFieldNamePrecedences
+     *          Non-empty List< String > of [non-empty] names of variable fields in < T > to sort by
+     *          (see {@link SortUtil#sortTopLevelValueObjectList})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return (possibly cached) SortPlan for tClass & sortFieldNamePrecedences
+     */
+    @SuppressWarnings("unchecked")
+    static public <T> SortPlan<T> forClass(
+            @NotNull final Class<T> tClass, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        final Map<List<String>, SortPlan<?>> classCache = CACHE.get(tClass);
+        SortPlan<?> sortPlan;
+        synchronized(classCache){
+            // Looked up by the caller's List itself (Lists are equal by their elements)
+            sortPlan = classCache.get(sortFieldNamePrecedences);
+        }
+        if(sortPlan == null){
+            // Copy, so that the caller mutating their List does not corrupt the CACHE
+            final List<String> sortFieldNamePrecedencesCopy =
+                Collections.unmodifiableList(new ArrayList<>(sortFieldNamePrecedences));
+            // Resolve outside of the lock (& CACHE), so that a resolution failure is not cached
+            sortPlan = new SortPlan<>(tClass, sortFieldNamePrecedencesCopy);
+            synchronized(classCache){
+                final SortPlan<?> racingSortPlan = classCache.putIfAbsent(sortFieldNamePrecedencesCopy, sortPlan);
+                if(racingSortPlan != null){
+                    sortPlan = racingSortPlan;
+                }
+            }
+        }
+
+        return (SortPlan<T>) sortPlan;
+    }
+
+    /**
+     * @param tList non-empty List< T >, of which the Class of the first item is planned for
+     * @param sortFieldNamePrecedences (see {@link #forClass})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return (possibly cached) SortPlan for the Class of tList items & sortFieldNamePrecedences
+     */
+    @SuppressWarnings("unchecked")
+    static public <T> SortPlan<T> forList(
+            @NotEmpty final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        return forClass((Class<T>) tList.get(0).getClass(), sortFieldNamePrecedences);
+    }
+
+    public Class<T> getTClass(){
+        return tClass;
+    }
+
+    /**
+     * @return unmodifiable sortFieldNamePrecedences this SortPlan was made for
+     */
+    public List<String> getSortFieldNamePrecedences(){
+        return sortFieldNamePrecedences;
+    }
+
+    /**
+     * @return thread-safe Comparator by this SortPlan's sortFieldNamePrecedences,
+     *          ordering the same as {@link SortUtil#makeComparatorForPrecedence(List)}
+     */
+    public Comparator<T> getComparator(){
+        return comparator;
+    }
+
+    /**
+     * @return thread-safe Comparator by this SortPlan's sortFieldNamePrecedences,
+     *          ordering exactly the same as {@link #getComparator()},
+     *          but reading fields through MethodHandles & comparing them by primitive compares (without boxing)
+     *          - see {@link MethodHandleComparator}
+     */
+    public Comparator<T> getSpecializedComparator(){
+        Comparator<T> specializedComparator = this.specializedComparator;
+        if(specializedComparator == null){
+            specializedComparator = new MethodHandleComparator<>(this);
+            this.specializedComparator = specializedComparator;
+        }
+        return specializedComparator;
+    }
+
+    SortField[] getSortFields(){
+        return sortFields;
+    }
+
+    private int compare(T t0, T t1){
+        // Compare based on sortFields values/order
+        // until a non-0/non-equal comparison results, or else no sortFields remaining
+        for(final SortField curSortField : sortFields){
+            final int comparison;
+            try{
+                comparison = SortUtil.compareFieldValues(
+                    curSortField.read(t0), curSortField.read(t1), curSortField.descending);
+
+            } catch(NullPointerException e){
+                throw new RuntimeException(
+                    "Error getting field value (with index " + curSortField.precedenceIdx
+                        + " in sortFieldNamePrecedences), for sorting.",
+                    e);
+            }
+
+            if(comparison != 0){
+                // [Break] no more comparison necessary
+                return comparison;
+            }
+            // else continue (to compare with next-precedent sortField), as curSortField comparison was equal (0)
+        }
+
+        return 0;
+    }
+
+    @Override
+    public String toString(){
+        return "SortPlan" + sortFieldNamePrecedences + " for " + tClass.getName();
+    }
+}
@@ -3,9 +3,21 @@ package chrisellepola;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SortUtil {
 
@@ -18,8 +30,12 @@ public class SortUtil {
      * (4) sortFieldNamePrecedences, ignoring possible prepended "-" dash (see 2),
      *      must be non-blank, valid, top-level, public variable names
      *      (matching spelling & character casing, without whitespace) in < T ><br>
+     * (5) Alternatively to (3) & (4), a sortFieldNamePrecedence may be a dotted path of nested fields
+     *      (e.g: "-address.zip"), & each name may also be of a public getter (e.g: `getZip()`)
+     *      or record component accessor (e.g: `zip()`)<br>
      * <br>
-     * In addition to sorting the tList, it is also printed & returned.<br>
+     * In addition to sorting the tList, it is also printed & returned
+     *  (see {@link #sortTopLevelValueObjectListWithoutPrinting} to not print it).<br>
      * <br>
      * Example Usage:<br>
      *     Given < T > Object-to-sort as...<br>
@@ -47,67 +63,577 @@ public class SortUtil {
     static public <T> List<T> sortTopLevelValueObjectList(
             @NotEmpty final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
 
-        tList.sort(makeComparatorForPrecedence(sortFieldNamePrecedences));
+        sortTopLevelValueObjectListWithoutPrinting(tList, sortFieldNamePrecedences);
 
         printSortedListWithHeaderFooter(tList, sortFieldNamePrecedences);
         return tList;
     }
+    /**
+     * Same as {@link #sortTopLevelValueObjectList(List, List)},
+     *  but with sortFieldNamePrecedences already parsed & resolved once in sortPlan
+     *  (so sorting does no parsing nor Reflection field lookups).
+     *
+     * @param tList non-empty List< T >
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectList(
+            @NotEmpty final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+
+        return sortTopLevelValueObjectList(tList, sortPlan, SortMode.COMPARATOR);
+    }
+    /**
+     * Same as {@link #sortTopLevelValueObjectList(List, SortPlan)}, but sorting by sortMode
+     *  (which orders the same as any other SortMode, but with different performance characteristics).
+     *
+     * @param tList non-empty List< T >
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param sortMode (e.g: {@link SortMode#EXTRACTED_KEYS} to read each sort field only once per Object)
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectList(
+            @NotEmpty final List<T> tList, @NotNull final SortPlan<T> sortPlan, @NotNull final SortMode sortMode){
+
+        sortTopLevelValueObjectListWithoutPrinting(tList, sortPlan, sortMode);
+
+        printSortedListWithHeaderFooter(tList, sortPlan);
+        return tList;
+    }
+
+    /**
+     * Same as {@link #sortTopLevelValueObjectList(List, List)}, but without printing
+     *  (e.g: to print separately by a {@link SortedListPrinter}, or not at all).
+     *
+     * @param tList non-empty List< T >
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectListWithoutPrinting(
+            @NotEmpty final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        if(SortInstrumentation.isEnabled() && !tList.isEmpty()){
+            SortInstrumentation.sort(tList, SortPlan.forList(tList, sortFieldNamePrecedences), SortMode.COMPARATOR);
+        } else {
+            tList.sort(makeComparatorForPrecedence(sortFieldNamePrecedences));
+        }
+        return tList;
+    }
+    /**
+     * Same as {@link #sortTopLevelValueObjectList(List, SortPlan, SortMode)}, but without printing.
+     *
+     * @param tList non-empty List< T >
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param sortMode (see {@link SortMode})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectListWithoutPrinting(
+            @NotEmpty final List<T> tList, @NotNull final SortPlan<T> sortPlan, @NotNull final SortMode sortMode){
+
+        if(SortInstrumentation.isEnabled()){
+            SortInstrumentation.sort(tList, sortPlan, sortMode);
+        } else {
+            sortMode.sort(tList, sortPlan);
+        }
+        return tList;
+    }
 
+    /**
+     * Same as {@link #sortTopLevelValueObjectList(List, List)}, but sorting in parallel
+     *  (in the common ForkJoinPool, for Lists larger than a default threshold).
+     *
+     * @param tList non-empty List< T >
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectListInParallel(
+            @NotEmpty final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        if(tList.isEmpty()){
+            return sortTopLevelValueObjectList(tList, sortFieldNamePrecedences);
+        }
+        return sortTopLevelValueObjectListInParallel(
+            tList, SortPlan.forList(tList, sortFieldNamePrecedences), null, ParallelMergeSort.DEFAULT_SERIAL_THRESHOLD);
+    }
+    /**
+     * Same as {@link #sortTopLevelValueObjectList(List, SortPlan)}, but sorting in parallel by a fork/join merge sort
+     *  (which is stable, so ties are ordered exactly the same as by the serial sort).
+     *
+     * @param tList non-empty List< T >
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param forkJoinPool to sort in (or null for the common ForkJoinPool)
+     * @param serialThreshold (positive) size up to which tList (or parts of it) are instead sorted serially
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectListInParallel(
+            @NotEmpty final List<T> tList, @NotNull final SortPlan<T> sortPlan,
+            final ForkJoinPool forkJoinPool, int serialThreshold){
+
+        sortTopLevelValueObjectListInParallelWithoutPrinting(tList, sortPlan, forkJoinPool, serialThreshold);
+
+        printSortedListWithHeaderFooter(tList, sortPlan);
+        return tList;
+    }
+
+    /**
+     * Same as {@link #sortTopLevelValueObjectListInParallel(List, List)}, but without printing.
+     *
+     * @param tList non-empty List< T >
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectListInParallelWithoutPrinting(
+            @NotEmpty final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        if(tList.isEmpty()){
+            return tList;
+        }
+        return sortTopLevelValueObjectListInParallelWithoutPrinting(
+            tList, SortPlan.forList(tList, sortFieldNamePrecedences), null, ParallelMergeSort.DEFAULT_SERIAL_THRESHOLD);
+    }
+    /**
+     * Same as {@link #sortTopLevelValueObjectListInParallel(List, SortPlan, ForkJoinPool, int)}, but without printing.
+     *
+     * @param tList non-empty List< T >
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param forkJoinPool to sort in (or null for the common ForkJoinPool)
+     * @param serialThreshold (positive) size up to which tList (or parts of it) are instead sorted serially
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted List< T >
+     */
+    static public <T> List<T> sortTopLevelValueObjectListInParallelWithoutPrinting(
+            @NotEmpty final List<T> tList, @NotNull final SortPlan<T> sortPlan,
+            final ForkJoinPool forkJoinPool, int serialThreshold){
+
+        final ForkJoinPool sortForkJoinPool = forkJoinPool == null ? ForkJoinPool.commonPool() : forkJoinPool;
+        if(SortInstrumentation.isEnabled()){
+            SortInstrumentation.sortInParallel(tList, sortPlan, sortForkJoinPool, serialThreshold);
+        } else {
+            ParallelMergeSort.sort(tList, sortPlan.getComparator(), sortForkJoinPool, serialThreshold);
+        }
+        return tList;
+    }
+
+    /**
+     * Sorts many Lists (of the same Class) concurrently, each as if by
+     *  {@link #sortTopLevelValueObjectListWithoutPrinting(List, List)}, but with sortFieldNamePrecedences
+     *  resolved only once (in a {@link SortPlan} for the Class of the first item of the first non-empty List),
+     *  and each List sorted on its own virtual thread (if available, Java 21+) or else in the common ForkJoinPool.<br>
+     * <br>
+     * No List is printed, and sorting the Lists takes no shared locks.
+     *
+     * @param tLists Lists to sort (each in place)
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be sorted
+     * @param <L> type of Lists to be sorted
+     *
+     * @return new List of a CompletableFuture per List of tLists (in the same order),
+     *          completed with that (sorted) List, or exceptionally if sorting it failed
+     */
+    static public <T, L extends List<T>> List<CompletableFuture<L>> sortTopLevelValueObjectListsConcurrently(
+            @NotNull final Collection<L> tLists, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        for(final L tList : tLists){
+            if(!tList.isEmpty()){
+                return sortTopLevelValueObjectListsConcurrently(
+                    tLists, SortPlan.forList(tList, sortFieldNamePrecedences), SortMode.COMPARATOR, null);
+            }
+        }
+
+        // All empty, so already sorted
+        final List<CompletableFuture<L>> sortedFutures = new ArrayList<>(tLists.size());
+        for(final L tList : tLists){
+            sortedFutures.add(CompletableFuture.completedFuture(tList));
+        }
+        return sortedFutures;
+    }
+    /**
+     * Same as {@link #sortTopLevelValueObjectListsConcurrently(Collection, List)}, but by sortPlan & sortMode,
+     *  on executor.
+     *
+     * @param tLists Lists to sort (each in place)
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param sortMode (see {@link SortMode})
+     * @param executor to sort each List in (or null for virtual threads if available, else the common ForkJoinPool)
+     * @param <T> type of Objects to be sorted
+     * @param <L> type of Lists to be sorted
+     *
+     * @return new List of a CompletableFuture per List of tLists (in the same order),
+     *          completed with that (sorted) List, or exceptionally if sorting it failed
+     */
+    static public <T, L extends List<T>> List<CompletableFuture<L>> sortTopLevelValueObjectListsConcurrently(
+            @NotNull final Collection<L> tLists, @NotNull final SortPlan<T> sortPlan,
+            @NotNull final SortMode sortMode, final Executor executor){
+
+        return BatchSort.sort(tLists, sortPlan, sortMode, executor);
+    }
+
+    /**
+     * Sort Objects that may not all fit in memory at once (by sortPlan, the same as
+     *  {@link #sortTopLevelValueObjectList(List, SortPlan)} would):
+     *  memory-bounded runs of them are sorted & spilled to temp files, then merged back out as a Stream.<br>
+     * <br>
+     * The returned Stream should be closed (e.g: by try-with-resources) to delete those temp files.
+     *
+     * @param tIterator Objects-to-sort
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param recordSerializer to spill Objects to (& restore them from) temp files
+     * @param memoryBudgetBytes maximum heap bytes held at once - of each Object's serialized record & sort field values
+     *          (positive, and at most Integer.MAX_VALUE)
+     * @param tempDirectory to write temp files in (or null for the default temp directory)
+     * @param <T> type of Objects to be sorted
+     *
+     * @return sorted Stream< T >
+     */
+    static public <T> Stream<T> sortTopLevelValueObjectsExternally(
+            @NotNull final Iterator<T> tIterator, @NotNull final SortPlan<T> sortPlan,
+            @NotNull final RecordSerializer<T> recordSerializer, long memoryBudgetBytes, final Path tempDirectory){
+
+        return ExternalMergeSort.sort(tIterator, sortPlan, recordSerializer, memoryBudgetBytes, tempDirectory);
+    }
+    /**
+     * Same as {@link #sortTopLevelValueObjectsExternally(Iterator, SortPlan, RecordSerializer, long, Path)},
+     *  but of a Stream (which is closed when the returned Stream is).
+     */
+    static public <T> Stream<T> sortTopLevelValueObjectsExternally(
+            @NotNull final Stream<T> tStream, @NotNull final SortPlan<T> sortPlan,
+            @NotNull final RecordSerializer<T> recordSerializer, long memoryBudgetBytes, final Path tempDirectory){
+
+        return sortTopLevelValueObjectsExternally(
+                tStream.iterator(), sortPlan, recordSerializer, memoryBudgetBytes, tempDirectory)
+            .onClose(tStream::close);
+    }
+
+    /**
+     * The first k Objects of tList, as if sorted by {@link #sortTopLevelValueObjectList(List, List)}
+     *  (including ties at the k boundary), but in O(t*log(k)) rather than sorting all of tList.<br>
+     * <br>
+     * tList is not modified (nor printed).
+     *
+     * @param tList List< T > to select from
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param k (non-negative) number of Objects to select
+     * @param <T> type of Objects to be sorted
+     *
+     * @return new sorted List< T > of the first (up to) k Objects
+     */
+    static public <T> List<T> sortTopK(
+            @NotNull final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences, int k){
+
+        TopKSelector.validateK(k);
+        if(tList.isEmpty()){
+            return new ArrayList<>();
+        }
+        return sortTopK(tList, SortPlan.forList(tList, sortFieldNamePrecedences), k);
+    }
+    /**
+     * Same as {@link #sortTopK(List, List, int)}, but by sortPlan.
+     */
+    static public <T> List<T> sortTopK(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan, int k){
+        return TopKSelector.selectTopK(tList, sortPlan.getComparator(), k);
+    }
+
+    /**
+     * The Objects of tList from offset (for up to limit Objects),
+     *  as if sorted by {@link #sortTopLevelValueObjectList(List, List)},
+     *  but in O(t*log(offset + limit)) rather than sorting all of tList.<br>
+     * <br>
+     * tList is not modified (nor printed).
+     *
+     * @param tList List< T > to select from
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param offset (non-negative) index in sorted order of the first Object to select
+     * @param limit (non-negative) number of Objects to select
+     * @param <T> type of Objects to be sorted
+     *
+     * @return new sorted List< T > of the selected Objects
+     */
+    static public <T> List<T> sortPage(
+            @NotNull final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences,
+            int offset, int limit){
+
+        validatePage(offset, limit);
+        if(tList.isEmpty()){
+            return new ArrayList<>();
+        }
+        return sortPage(tList, SortPlan.forList(tList, sortFieldNamePrecedences), offset, limit);
+    }
+    /**
+     * Same as {@link #sortPage(List, List, int, int)}, but by sortPlan.
+     */
+    static public <T> List<T> sortPage(
+            @NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan, int offset, int limit){
+
+        validatePage(offset, limit);
+        if(offset >= tList.size()){
+            return new ArrayList<>();
+        }
+
+        final List<T> topK = sortTopK(tList, sortPlan, (int) Math.min(tList.size(), (long) offset + limit));
+        return new ArrayList<>(topK.subList(offset, topK.size()));
+    }
+    static private void validatePage(int offset, int limit){
+        if(offset < 0 || limit < 0){
+            throw new IllegalArgumentException("offset & limit must be non-negative: " + offset + ", " + limit);
+        }
+    }
+
+    /**
+     * Merges Lists that are each already sorted by sortFieldNamePrecedences
+     *  (e.g: by {@link #sortTopLevelValueObjectList(List, List)}) into one sorted List,
+     *  in O(t*log(k)) for k Lists (rather than sorting all of them again in O(t*log(t))).<br>
+     * <br>
+     * Ties are taken from the earliest List first, so the merge orders exactly the same as
+     *  stably sorting the concatenation of the Lists (in order). sortedTLists are not modified (nor printed).
+     *
+     * @param sortedTLists Lists< T > each already sorted by sortFieldNamePrecedences
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be merged
+     *
+     * @return new sorted List< T > of all Objects of sortedTLists
+     */
+    static public <T> List<T> mergeSorted(
+            @NotNull final List<? extends List<T>> sortedTLists, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        for(final List<T> sortedTList : sortedTLists){
+            if(!sortedTList.isEmpty()){
+                return mergeSorted(sortedTLists, SortPlan.forList(sortedTList, sortFieldNamePrecedences));
+            }
+        }
+        return new ArrayList<>();
+    }
+    /**
+     * Same as {@link #mergeSorted(List, List)}, but by sortPlan.
+     */
+    static public <T> List<T> mergeSorted(
+            @NotNull final List<? extends List<T>> sortedTLists, @NotNull final SortPlan<T> sortPlan){
+
+        int mergedSize = 0;
+        final List<Iterator<T>> sortedTIterators = new ArrayList<>(sortedTLists.size());
+        for(final List<T> sortedTList : sortedTLists){
+            mergedSize += sortedTList.size();
+            sortedTIterators.add(sortedTList.iterator());
+        }
+
+        final List<T> merged = new ArrayList<>(mergedSize);
+        final KWayMergeIterator<T> mergeIterator = new KWayMergeIterator<>(sortedTIterators, sortPlan.getComparator());
+        while(mergeIterator.hasNext()){
+            merged.add(mergeIterator.next());
+        }
+        return merged;
+    }
+
+    /**
+     * Iterator of the Objects of tList, as if sorted by {@link #sortTopLevelValueObjectList(List, List)},
+     *  but sorted lazily, only as far as they are iterated:  the first Object costs O(t),
+     *  & each further Object O(log(t)) (so iterating all of them costs the same as a full sort).<br>
+     * <br>
+     * tList is not modified (nor printed), & later changes to it are not iterated.
+     *
+     * @param tList List< T > to iterate in sorted order
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return new sorted Iterator< T >
+     */
+    static public <T> Iterator<T> sortedIterator(
+            @NotNull final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        if(tList.isEmpty()){
+            return Collections.emptyIterator();
+        }
+        return sortedIterator(tList, SortPlan.forList(tList, sortFieldNamePrecedences));
+    }
+    /**
+     * Same as {@link #sortedIterator(List, List)}, but by sortPlan.
+     */
+    static public <T> Iterator<T> sortedIterator(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        return new LazySortIterator<>(tList.toArray(), sortPlan);
+    }
+    /**
+     * Same as {@link #sortedIterator(List, List)}, but as a (sequential, ordered) Stream
+     *  (e.g: to {@link Stream#limit} to just the first Objects, sorting no further).
+     */
+    static public <T> Stream<T> sortedStream(
+            @NotNull final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        return toSortedStream(sortedIterator(tList, sortFieldNamePrecedences), tList.size());
+    }
+    /**
+     * Same as {@link #sortedStream(List, List)}, but by sortPlan.
+     */
+    static public <T> Stream<T> sortedStream(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        return toSortedStream(sortedIterator(tList, sortPlan), tList.size());
+    }
+    static private <T> Stream<T> toSortedStream(final Iterator<T> sortedIterator, int size){
+        return StreamSupport.stream(
+            Spliterators.spliterator(sortedIterator, size, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * The permutation that would sort tList by {@link #sortTopLevelValueObjectList(List, List)},
+     *  without moving any Objects (e.g: to apply the same order to parallel Lists & arrays,
+     *  by {@link Permutations#applyInPlace}, while keeping the original order too).<br>
+     * <br>
+     * tList is not modified (nor printed).
+     *
+     * @param tList List< T > to sort the indices of
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return new int[] of the indices of tList, in stably sorted order of their Objects
+     *          (i.e: sortedIndices[i] is the index in tList of the i-th sorted Object)
+     */
+    static public <T> int[] sortedIndices(
+            @NotNull final List<T> tList, @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        if(tList.isEmpty()){
+            return new int[0];
+        }
+        return sortedIndices(tList, SortPlan.forList(tList, sortFieldNamePrecedences));
+    }
+    /**
+     * Same as {@link #sortedIndices(List, List)}, but by sortPlan
+     *  (see {@link SortedIndicesCache} to reuse sortedIndices while tList is unchanged).
+     */
+    static public <T> int[] sortedIndices(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        return ExtractedKeySort.sortedRows(tList.toArray(), sortPlan);
+    }
+
+    /**
+     * Sorts fixed-width binary records in place in records (from its position to its limit, neither of which
+     *  is changed), by fields of recordSchema - without deserializing them into Objects
+     *  (e.g: a direct or memory-mapped ByteBuffer, of far more records than would fit in the heap as Objects).<br>
+     * <br>
+     * Fields are compared the same as the same (Boxed) type of field of Objects-to-sort is
+     *  (see {@link RecordFieldType}), & the sort is stable.
+     *  The heap allocated is 8 bytes per record (a permutation of the records, & the merge sort's scratch copy of it).
+     *
+     * @param records ByteBuffer of back-to-back records (remaining bytes must be a multiple of the record width)
+     * @param recordSchema of the records
+     * @param sortFieldNamePrecedences names of fields in recordSchema
+     *          (see {@link #sortTopLevelValueObjectList(List, List)})
+     */
+    static public void sortRecords(
+            @NotNull final ByteBuffer records, @NotNull final RecordSchema recordSchema,
+            @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        RecordSort.sort(records, recordSchema, sortFieldNamePrecedences);
+    }
+    /**
+     * Same as {@link #sortRecords}, but without moving any records
+     *  (the same as {@link #sortedIndices(List, List)} is for Objects).
+     *
+     * @return new int[] of the indices of the records (from 0, at the position of records), in stably sorted order
+     */
+    static public int[] sortedRecordIndices(
+            @NotNull final ByteBuffer records, @NotNull final RecordSchema recordSchema,
+            @NotEmpty final List<String> sortFieldNamePrecedences){
+
+        return RecordSort.sortedRecordIndices(records, recordSchema, sortFieldNamePrecedences);
+    }
+
+    /**
+     * @param sortFieldNamePrecedences (see {@link #sortTopLevelValueObjectList(List, List)})
+     * @param <T> type of Objects to be compared
+     *
+     * @return Comparator by sortFieldNamePrecedences,
+     *          which resolves (& caches) a {@link SortPlan} once per Class of compared Objects
+     */
     static public <T> Comparator<T> makeComparatorForPrecedence(@NotEmpty final List<String> sortFieldNamePrecedences){
         return new Comparator<T>() {
+            // SortPlan for the Class of the last-compared t0 (almost always the same Class throughout a sort)
+            private volatile SortPlan<?> lastSortPlan;
+
             @Override
+            @SuppressWarnings("unchecked")
             public int compare(T t0, T t1){
-                // Compare based on sortFieldNamePrecedences values/order
-                // until a non-0/non-equal comparison results, or else no sortFieldNamePrecedences remaining
-                for(    int curSortPrecedence = 0;
-                        curSortPrecedence < sortFieldNamePrecedences.size();
-                        ++curSortPrecedence){
-                    // Assess/Prep curSortFieldName
-                    String curSortFieldName = sortFieldNamePrecedences.get(curSortPrecedence);
-                    final boolean descending = curSortFieldName.startsWith("-");
-                    if(descending){
-                        // Trim off flag for descending
-                        curSortFieldName = curSortFieldName.replace("-", "");
-                    }
-
-                    /*
-                     * COMPARE */
-                    final int comparison;
-                    try{
-                        comparison = compareByField(t0, t1, curSortFieldName, descending);
-
-                    } catch(NoSuchFieldException | NullPointerException | SecurityException
-                            | IllegalAccessException | IllegalArgumentException | ExceptionInInitializerError e){
-                        throw new RuntimeException(
-                            "Error getting field value (with index " + curSortPrecedence
-                                + " in sortFieldNamePrecedences), for sorting.",
-                            e);
-                    }
-
-                    // Assess if its necessary to continue comparing by subsequently-precedent sortField(s)
-                    if(comparison != 0 || curSortPrecedence == sortFieldNamePrecedences.size() - 1){
-                        // [Break] no more comparison necessary
-                        return comparison;
-                    }
-                    // else continue (to compare with next-precedent sortField),
-                    // as curSortFieldName comparison was equal (0)
+                SortPlan<?> sortPlan = lastSortPlan;
+                if(sortPlan == null || sortPlan.getTClass() != t0.getClass()){
+                    sortPlan = SortPlan.forClass(t0.getClass(), sortFieldNamePrecedences);
+                    lastSortPlan = sortPlan;
                 }
 
-                return 0;   // reaching here means sortFieldNamePrecedences was a disallowed empty-List
+                return ((Comparator<Object>) sortPlan.getComparator()).compare(t0, t1);
             }
         };
     }
+    /**
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param <T> type of Objects to be compared
+     *
+     * @return Comparator by sortPlan (which does no parsing nor Reflection field lookups per comparison)
+     */
+    static public <T> Comparator<T> makeComparatorForPrecedence(@NotNull final SortPlan<T> sortPlan){
+        return sortPlan.getComparator();
+    }
+    /**
+     * Opt-in alternative to {@link #makeComparatorForPrecedence(SortPlan)}, ordering exactly the same,
+     *  but reading fields through MethodHandles & comparing them by primitive compares (without boxing).
+     *
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param <T> type of Objects to be compared
+     *
+     * @return Comparator by sortPlan, specialized per sort field type
+     */
+    static public <T> Comparator<T> makeSpecializedComparatorForPrecedence(@NotNull final SortPlan<T> sortPlan){
+        return sortPlan.getSpecializedComparator();
+    }
+
+    /**
+     * Same as {@link #makeComparatorForPrecedence(SortPlan)}, but counting comparisons
+     *  & timing field reads vs compares (see {@link InstrumentedComparator}).
+     *
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param <T> type of Objects to be compared
+     *
+     * @return new InstrumentedComparator by sortPlan
+     */
+    static public <T> InstrumentedComparator<T> makeInstrumentedComparatorForPrecedence(
+            @NotNull final SortPlan<T> sortPlan){
+
+        return new InstrumentedComparator<>(sortPlan);
+    }
 
-    @SuppressWarnings("unchecked")
     static public int compareByField(
                 @NotNull Object object0, @NotNull Object object1, @NotEmpty String fieldName, boolean descending)
             throws NoSuchFieldException, IllegalAccessException{
 
         final Field curSortField = object0.getClass().getField(fieldName);
-        final Object t0CurSortField = curSortField.get(object0);
-        final Object t1CurSortField = curSortField.get(object1);
+        return compareFieldValues(curSortField.get(object0), curSortField.get(object1), descending);
+    }
+    /**
+     * Compare already-read sort field values (see {@link #compareByField}).
+     *
+     * @param t0CurSortField non-null field value (of a primitive, Boxed Primitive, or String field)
+     * @param t1CurSortField non-null field value (of the same field as t0CurSortField)
+     * @param descending
+     *
+     * @return comparison of t0CurSortField to t1CurSortField
+     */
+    @SuppressWarnings("unchecked")
+    static int compareFieldValues(@NotNull Object t0CurSortField, @NotNull Object t1CurSortField, boolean descending){
         final Class t0CurSortFieldClazz = t0CurSortField.getClass();
-        if(t0CurSortFieldClazz.equals(String.class) || t0CurSortFieldClazz.equals(Character.class)){
+        if(t0CurSortFieldClazz.equals(Character.class) && t1CurSortField instanceof Character){
+            // Same as comparing them as Strings, but without making Strings of them
+            return CaseInsensitiveCompare.compareChars(
+                (Character) t0CurSortField, (Character) t1CurSortField, descending);
+
+        } else if(t0CurSortFieldClazz.equals(String.class) || t0CurSortFieldClazz.equals(Character.class)){
             return compareStrings(t0CurSortField.toString(), t1CurSortField.toString(), descending);
 
         } else {
@@ -118,10 +644,10 @@ public class SortUtil {
 
     static int compareStrings(String string0, String string1, boolean descending){
         if (descending) {
-            return string1.compareToIgnoreCase(string0);
+            return CaseInsensitiveCompare.compareStrings(string1, string0);
 
         } else {
-            return string0.compareToIgnoreCase(string1);
+            return CaseInsensitiveCompare.compareStrings(string0, string1);
         }
     }
     static int compareComparables(Comparable<Object> comparable0, Comparable<Object> comparable1, boolean descending){
@@ -135,145 +661,43 @@ public class SortUtil {
     }
 
     /*
-     * NOTE - the majority of code is below this line, but is JUST FOR PRINTING.
+     * NOTE - the code below is JUST FOR PRINTING (which is rendered by SortedListPrinter).
      * Refer to README for details about how it is not required for the main sorting algorithm itself.
-     * Hopefully this clarifies how the size of the code below should not be interpreted as concluding
-     * that the main algorithm itself is complicated, proportional to the number of below lines.
      */
 
-    static public <T> void printSortedListWithHeaderFooter(
-            @NotEmpty final List<T> tList, @NotEmpty final List<String> sortFieldNames){
-
-        System.out.println(
-            "Sorted List of " + tList.getClass().getCanonicalName()
-            + " (only displaying values necessary for comparing input-adjacent Objects per order: "
-            + sortFieldNames.toString() + "):");
-
-        printSortedList(tList, sortFieldNames);
-
-        // Format, to separate from any next print
-        System.out.println();
-    }
     /**
      * (in tList order) Print each T's field values that match the next T's values,
-     *  according to the ordered sortFieldNames, up until (and including) the first non-matching value.
+     *  according to the ordered sortFieldNames, up until (and including) the first non-matching value
+     *  (with a header line before, and an empty line after).
      *
      * @param tList
      * @param sortFieldNames
      * @param <T>
      */
-    static private <T> void printSortedList(final List<T> tList, final List<String> sortFieldNames){
-        final List<String> nextTValueStrings = new ArrayList<>();
-        for(int curTListIdx = 0; curTListIdx < tList.size(); ++curTListIdx){
-            /*
-             * Print any [prior] nextTValueStrings (since they now correspond to curT) by CSV.
-             * don't next-line yet, as more from this line may be printed yet */
-            printCSVNoNewLine(nextTValueStrings);
-
-            // Prep for the new curT/nextT
-            final int sortFieldNamesIdxStartPrinting = nextTValueStrings.size(); // 1-after the last nextTValueStrings val
-            nextTValueStrings.clear();
-
-            /*
-             * Print curT line, and load any nextT */
-            printSortedListItemFieldsNotPrintedYetAndLoadNextT(
-                curTListIdx, tList, sortFieldNamesIdxStartPrinting, sortFieldNames, nextTValueStrings);
+    static public <T> void printSortedListWithHeaderFooter(
+            @NotEmpty final List<T> tList, @NotEmpty final List<String> sortFieldNames){
+
+        if(tList.isEmpty()){
+            System.out.println(
+                "Sorted List of " + tList.getClass().getCanonicalName()
+                + " (only displaying values necessary for comparing input-adjacent Objects per order: "
+                + sortFieldNames.toString() + "):");
             System.out.println();
+            return;
         }
+        printSortedListWithHeaderFooter(tList, SortPlan.forList(tList, sortFieldNames));
     }
-    static void printCSVNoNewLine(final List<String> strings){
-        for(int curStringIdx = 0; curStringIdx < strings.size(); ++curStringIdx){
-            System.out.print(strings.get(curStringIdx));
-            if(curStringIdx < strings.size() - 1){
-                System.out.print(", ");
-            }
-        }
-    }
-
     /**
-     * Assess/Print values (starting at sortFieldNamesIdxStartPrinting) in curT by CSV,
-     *  & Compare with nextT if exists (loading nextTValueStrings if so)
+     * Same as {@link #printSortedListWithHeaderFooter(List, List)}, but reading fields already resolved in sortPlan.
      *
-     * @param tListItemIdx
      * @param tList
-     * @param sortFieldNamesIdxStartPrinting
-     * @param sortFieldNames
-     * @param nextTValueStrings
+     * @param sortPlan
      * @param <T>
      */
-    static private <T> void printSortedListItemFieldsNotPrintedYetAndLoadNextT(
-            int tListItemIdx, final List<T> tList,
-            int sortFieldNamesIdxStartPrinting, final List<String> sortFieldNames,
-            List<String> nextTValueStrings){
-
-        for(int curSortFieldNamesIdx = 0; curSortFieldNamesIdx < sortFieldNames.size(); ++curSortFieldNamesIdx){
-            String curSortFieldName = sortFieldNames.get(curSortFieldNamesIdx);
-            // Remove any descending-order flag [irrelevant here]
-            curSortFieldName = curSortFieldName.replace("-", "");
-
-            if(tListItemIdx < tList.size() - 1){ // nextT exists
-                // TODO:  does this block truly not matter?
-                if(printItemField_LoadAndCompareNextT(
-                        curSortFieldName, tListItemIdx, tList,
-                        curSortFieldNamesIdx, sortFieldNamesIdxStartPrinting,
-                        nextTValueStrings)){
-                    // Advance tItem to nextT (tListItem mismatches nextT)
-                    break;
-                }
-
-            }   // else no nextT
-        }
-    }
-
-    /**
-     * @param fieldName
-     * @param tListItemIdx
-     * @param tList
-     * @param sortFieldNamesIdx
-     * @param sortFieldNamesIdxStartPrinting
-     * @param nextTValueStrings
-     * @param <T>
-     *
-     * @return true if tListItem mismatches nextT
-     */
-    static private <T> boolean printItemField_LoadAndCompareNextT(
-            String fieldName, int tListItemIdx, final List<T> tList,
-            int sortFieldNamesIdx, int sortFieldNamesIdxStartPrinting,
-            List<String> nextTValueStrings){
-
-        final String tItemFieldString;
-        final String nextTFieldString;
-        try{
-            final T tItem = tList.get(tListItemIdx);
-            tItemFieldString = tItem.getClass().getField(fieldName).get(tItem).toString();
-            if(sortFieldNamesIdx >= sortFieldNamesIdxStartPrinting){
-                if(tListItemIdx > 0){
-                    System.out.print(", ");
-                }
-                /*
-                 * Print tItemFieldString */
-                System.out.print(tItemFieldString);
-            }
-
-            // Load nextTFieldString into nextTValueStrings
-            final T nextT = tList.get(tListItemIdx + 1);
-            final Field nextTSortField = nextT.getClass().getField(fieldName);
-            nextTFieldString = nextTSortField.get(nextT).toString();
-            /*
-             * Load nextTFieldString into nextTValueStrings */
-            nextTValueStrings.add(nextTFieldString);
-
-        } catch(    NoSuchFieldException | NullPointerException | SecurityException
-            |   IllegalAccessException | IllegalArgumentException | ExceptionInInitializerError e){
-            throw new RuntimeException(
-                "Error getting field (with value " + fieldName + " in sortFieldNames), "
-                    + "for sort printing.",
-                e);
-        }
+    static public <T> void printSortedListWithHeaderFooter(
+            @NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
 
-        /*
-         * Compare */
-        return ! tItemFieldString.equalsIgnoreCase(nextTFieldString);
+        new SortedListPrinter<>(sortPlan).print(tList, System.out);
     }
 
 }
@@ -0,0 +1,171 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache of sortedIndices (see {@link SortUtil#sortedIndices}), per (List, SortPlan):<br>
+ * (1) A cached permutation is reused while the List holds the same Objects (by identity), in the same order -
+ *      which is checked in O(t) (rather than sorting again in O(t*log(t)))<br>
+ * (2) Otherwise it is sorted again (& re-cached)<br>
+ * (3) At most maxEntries are cached (the least-recently used are evicted)<br>
+ * <br>
+ * Lists are held weakly, but each entry holds a copy (Object[]) of its List's Objects to check them by -
+ *  so those Objects are held until the entry is evicted, invalidated, or purged
+ *  (entries of Lists that have been garbage collected are purged on the next access to the cache).
+ *  So the cache holds up to maxEntries * t (Object references & sortedIndices), for cached Lists of t Objects.<br>
+ * <br>
+ * As for {@link SortedValueObjectIndex}, sort field values must not change while their Object is cached
+ *  (or else call {@link #invalidate} after changing them).
+ *  Thread-safe.
+ */
+public final class SortedIndicesCache {
+
+    private final int maxEntries;
+    private final Map<CacheKey, CacheEntry> entries;
+    // Enqueued once their List has been garbage collected
+    private final ReferenceQueue<List<?>> clearedTListReferences = new ReferenceQueue<>();
+
+    /**
+     * @param maxEntries (positive) number of (List, SortPlan)s to cache
+     */
+    public SortedIndicesCache(int maxEntries){
+        if(maxEntries < 1){
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        entries = new LinkedHashMap<CacheKey, CacheEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<CacheKey, CacheEntry> eldest){
+                return size() > SortedIndicesCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param tList (not modified)
+     * @param sortPlan (see {@link SortPlan#forClass})
+     * @param <T> type of Objects to be sorted
+     *
+     * @return new copy of the (possibly cached) sortedIndices of tList by sortPlan
+     */
+    public <T> int[] sortedIndices(@NotNull final List<T> tList, @NotNull final SortPlan<T> sortPlan){
+        final CacheKey cacheKey = new CacheKey(tList, sortPlan, clearedTListReferences);
+        synchronized(entries){
+            purgeCleared();
+            final CacheEntry cacheEntry = entries.get(cacheKey);
+            if(cacheEntry != null && cacheEntry.holdsSameObjects(tList)){
+                return cacheEntry.sortedIndices.clone();
+            }
+        }
+
+        // Sort outside of the lock
+        final Object[] ts = tList.toArray();
+        final int[] sortedIndices = ExtractedKeySort.sortedRows(ts, sortPlan);
+        synchronized(entries){
+            entries.put(cacheKey, new CacheEntry(ts, sortedIndices));
+        }
+        return sortedIndices.clone();
+    }
+
+    /**
+     * Remove any cached sortedIndices of tList (by any SortPlan).
+     */
+    public void invalidate(final List<?> tList){
+        synchronized(entries){
+            purgeCleared();
+            entries.keySet().removeIf(cacheKey -> cacheKey.tListReference.get() == tList);
+        }
+    }
+
+    public void clear(){
+        synchronized(entries){
+            entries.clear();
+        }
+    }
+
+    public int size(){
+        synchronized(entries){
+            purgeCleared();
+            return entries.size();
+        }
+    }
+
+    /**
+     * Remove the entries of Lists that have been garbage collected (holding the entries lock).
+     */
+    private void purgeCleared(){
+        if(clearedTListReferences.poll() == null){
+            return;
+        }
+        while(clearedTListReferences.poll() != null){
+            // Drain, as all cleared are removed at once
+        }
+        entries.keySet().removeIf(cacheKey -> cacheKey.tListReference.get() == null);
+    }
+
+    /**
+     * (List by identity, SortPlan)
+     */
+    static private final class CacheKey {
+
+        private final WeakReference<List<?>> tListReference;
+        private final SortPlan<?> sortPlan;
+        private final int hashCode;
+
+        private CacheKey(
+                final List<?> tList, final SortPlan<?> sortPlan, final ReferenceQueue<List<?>> clearedTListReferences){
+            tListReference = new WeakReference<>(tList, clearedTListReferences);
+            this.sortPlan = sortPlan;
+            hashCode = 31 * System.identityHashCode(tList) + sortPlan.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object object){
+            if(this == object){
+                return true;
+            }
+            if(!(object instanceof CacheKey)){
+                return false;
+            }
+            final CacheKey cacheKey = (CacheKey) object;
+            final List<?> tList = tListReference.get();
+            return tList != null && tList == cacheKey.tListReference.get() && sortPlan.equals(cacheKey.sortPlan);
+        }
+
+        @Override
+        public int hashCode(){
+            return hashCode;
+        }
+    }
+
+    static private final class CacheEntry {
+
+        // The Objects sortedIndices were sorted from
+        private final Object[] ts;
+        private final int[] sortedIndices;
+
+        private CacheEntry(final Object[] ts, final int[] sortedIndices){
+            this.ts = ts;
+            this.sortedIndices = sortedIndices;
+        }
+
+        private boolean holdsSameObjects(final List<?> tList){
+            if(tList.size() != ts.length){
+                return false;
+            }
+            final Iterator<?> tIterator = tList.iterator();
+            for(final Object t : ts){
+                if(tIterator.next() != t){
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
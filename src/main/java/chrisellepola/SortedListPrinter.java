@@ -0,0 +1,202 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Renders the same sorted List report as {@link SortUtil#printSortedListWithHeaderFooter}
+ *  (each Object's sort field values, only as far as necessary for comparing it with the next Object),
+ *  but to any sink rather than only System.out:<br>
+ * (1) To an Appendable (e.g: a Writer, StringBuilder, or System.out), in batched writes of many lines at once<br>
+ * (2) To a Consumer of each line (without line separator)<br>
+ * (3) Either of the above asynchronously (on a given Executor), so sorting need not wait for printing<br>
+ * <br>
+ * Sort fields are read by the SortPlan's already-resolved Fields (rather than a Reflection lookup per value),
+ *  and each value is converted to a String at most twice (as the next Object's, then as the current Object's).
+ *
+ * @param <T> type of Objects sorted
+ */
+public final class SortedListPrinter<T> {
+
+    // Characters buffered before each batched write to an Appendable
+    static private final int APPENDABLE_BATCH_CHARS = 1 << 13;
+
+    private final SortPlan<T> sortPlan;
+
+    /**
+     * @param sortPlan the List was sorted by (see {@link SortPlan#forClass})
+     */
+    public SortedListPrinter(@NotNull final SortPlan<T> sortPlan){
+        this.sortPlan = sortPlan;
+    }
+
+    public SortPlan<T> getSortPlan(){
+        return sortPlan;
+    }
+
+    /**
+     * Print the report of sorted tList to appendable (flushing it after, if Flushable).
+     *
+     * @param tList sorted List< T >
+     * @param appendable to print to
+     */
+    public void print(@NotNull final List<? extends T> tList, @NotNull final Appendable appendable){
+        final StringBuilder batch = new StringBuilder(APPENDABLE_BATCH_CHARS * 2);
+        final String lineSeparator = System.lineSeparator();
+        render(tList, line -> {
+            batch.append(line).append(lineSeparator);
+            if(batch.length() >= APPENDABLE_BATCH_CHARS){
+                appendBatch(appendable, batch);
+            }
+        });
+        appendBatch(appendable, batch);
+
+        if(appendable instanceof Flushable){
+            try{
+                ((Flushable) appendable).flush();
+
+            } catch(IOException e){
+                throw new UncheckedIOException("Error flushing sorted List, for sort printing.", e);
+            }
+        }
+    }
+    static private void appendBatch(final Appendable appendable, final StringBuilder batch){
+        try{
+            appendable.append(batch);
+            batch.setLength(0);
+
+        } catch(IOException e){
+            throw new UncheckedIOException("Error appending sorted List, for sort printing.", e);
+        }
+    }
+
+    /**
+     * Print the report of sorted tList to lineConsumer, one line at a time (without line separators).
+     *
+     * @param tList sorted List< T >
+     * @param lineConsumer to print to
+     */
+    public void print(@NotNull final List<? extends T> tList, @NotNull final Consumer<String> lineConsumer){
+        render(tList, line -> lineConsumer.accept(line.toString()));
+    }
+
+    /**
+     * Same as {@link #print(List, Appendable)}, but on executor:
+     *  tList is copied first, so it may be changed (e.g: sorted again) as soon as this returns.
+     *
+     * @param tList sorted List< T >
+     * @param appendable to print to (only from executor)
+     * @param executor to print on
+     *
+     * @return future completed once printed (or exceptionally if printing failed)
+     */
+    public CompletableFuture<Void> printAsync(
+            @NotNull final List<? extends T> tList, @NotNull final Appendable appendable,
+            @NotNull final Executor executor){
+
+        final List<T> tListCopy = new ArrayList<>(tList);
+        return CompletableFuture.runAsync(() -> print(tListCopy, appendable), executor);
+    }
+    /**
+     * Same as {@link #print(List, Consumer)}, but on executor (see {@link #printAsync(List, Appendable, Executor)}).
+     */
+    public CompletableFuture<Void> printAsync(
+            @NotNull final List<? extends T> tList, @NotNull final Consumer<String> lineConsumer,
+            @NotNull final Executor executor){
+
+        final List<T> tListCopy = new ArrayList<>(tList);
+        return CompletableFuture.runAsync(() -> print(tListCopy, lineConsumer), executor);
+    }
+
+    /**
+     * Render the header, each Object's line, then an empty footer line
+     *  (see {@link SortUtil#printSortedListWithHeaderFooter}).
+     *
+     * @param tList sorted List< T >
+     * @param lineConsumer of each line (only valid until it returns, as it is reused for the next line)
+     */
+    private void render(final List<? extends T> tList, final Consumer<CharSequence> lineConsumer){
+        final StringBuilder line = new StringBuilder();
+        line.append("Sorted List of ").append(tList.getClass().getCanonicalName())
+            .append(" (only displaying values necessary for comparing input-adjacent Objects per order: ")
+            .append(sortPlan.getSortFieldNamePrecedences().toString()).append("):");
+        lineConsumer.accept(line);
+
+        final SortField[] sortFields = sortPlan.getSortFields();
+        // Value Strings of the current Object, as loaded (while comparing) from the prior Object's line
+        String[] curTValueStrings = new String[sortFields.length];
+        String[] nextTValueStrings = new String[sortFields.length];
+        int curTValueStringsLength = 0;
+
+        T nextT = tList.isEmpty() ? null : tList.get(0);
+        for(int curTListIdx = 0; curTListIdx < tList.size(); ++curTListIdx){
+            final T curT = nextT;
+            line.setLength(0);
+
+            /*
+             * Values already loaded (since they matched the prior Object's) by CSV */
+            for(int sortFieldsIdx = 0; sortFieldsIdx < curTValueStringsLength; ++sortFieldsIdx){
+                if(sortFieldsIdx > 0){
+                    line.append(", ");
+                }
+                line.append(curTValueStrings[sortFieldsIdx]);
+            }
+
+            /*
+             * Further values, up until (and including) the first mismatching the next Object's, loading those */
+            int nextTValueStringsLength = 0;
+            if(curTListIdx < tList.size() - 1){ // nextT exists
+                nextT = tList.get(curTListIdx + 1);
+                for(int sortFieldsIdx = 0; sortFieldsIdx < sortFields.length; ++sortFieldsIdx){
+                    final String curTValueString;
+                    if(sortFieldsIdx < curTValueStringsLength){
+                        curTValueString = curTValueStrings[sortFieldsIdx];
+                    } else {
+                        curTValueString = readValueString(curT, sortFields[sortFieldsIdx]);
+                        // (The first Object's values have never been separated by ", ")
+                        if(curTListIdx > 0){
+                            line.append(", ");
+                        }
+                        line.append(curTValueString);
+                    }
+
+                    final String nextTValueString = readValueString(nextT, sortFields[sortFieldsIdx]);
+                    nextTValueStrings[nextTValueStringsLength++] = nextTValueString;
+                    if(!curTValueString.equalsIgnoreCase(nextTValueString)){
+                        break;
+                    }
+                }
+            }
+            lineConsumer.accept(line);
+
+            // nextT becomes curT
+            final String[] swap = curTValueStrings;
+            curTValueStrings = nextTValueStrings;
+            nextTValueStrings = swap;
+            curTValueStringsLength = nextTValueStringsLength;
+        }
+
+        // Format, to separate from any next print
+        line.setLength(0);
+        lineConsumer.accept(line);
+    }
+
+    static private String readValueString(final Object t, final SortField sortField){
+        try{
+            return sortField.read(t).toString();
+
+        } catch(RuntimeException e){
+            throw new RuntimeException(
+                "Error getting field (with value " + sortField.fieldName + " in sortFieldNames), "
+                    + "for sort printing.",
+                e);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+/**
+ * Collection of Objects kept sorted by a {@link SortPlan} as they are added & removed
+ *  (rather than re-sorting a whole List after every few changes):<br>
+ * (1) Adding, removing, & looking up an Object are O(log(t)) (by a balanced binary search tree)<br>
+ * (2) Iteration is in sorted order - ties in the order they were added,
+ *      so the same as stably sorting a List of the Objects (in the order they were added)<br>
+ * (3) Objects can be looked up by values of a prefix of the sort fields (e.g: all Objects with the first
+ *      sort field equal to 7, in order of the remaining sort fields - see {@link #findByPrefix})<br>
+ * <br>
+ * Sort field values must not change while their Object is in this index.
+ * Not thread-safe.
+ *
+ * @param <T> type of Objects to be sorted
+ */
+public class SortedValueObjectIndex<T> extends AbstractCollection<T> {
+
+    private final SortPlan<T> sortPlan;
+    private final NavigableSet<Entry<T>> entries;
+    // Per added Object, to order ties in the order they were added
+    private long nextAddSequence;
+
+    /**
+     * @param sortPlan to keep Objects sorted by (see {@link SortPlan#forClass})
+     */
+    public SortedValueObjectIndex(@NotNull final SortPlan<T> sortPlan){
+        this.sortPlan = sortPlan;
+        entries = new TreeSet<>(this::compareEntries);
+    }
+    /**
+     * @param sortPlan to keep Objects sorted by (see {@link SortPlan#forClass})
+     * @param ts Objects to add (in order)
+     */
+    public SortedValueObjectIndex(@NotNull final SortPlan<T> sortPlan, @NotNull final Collection<? extends T> ts){
+        this(sortPlan);
+        addAll(ts);
+    }
+
+    public SortPlan<T> getSortPlan(){
+        return sortPlan;
+    }
+
+    /**
+     * Add t in its sorted position (after any it ties with).
+     *
+     * @param t non-null Object to add
+     *
+     * @return true
+     */
+    @Override
+    public boolean add(@NotNull final T t){
+        if(t == null){
+            throw new NullPointerException("Objects to sort must be non-null.");
+        }
+        return entries.add(new Entry<>(t, nextAddSequence++));
+    }
+
+    /**
+     * Remove the first-added Object equal to object.
+     *
+     * @param object to remove
+     *
+     * @return true if removed
+     */
+    @Override
+    public boolean remove(final Object object){
+        final Iterator<Entry<T>> tieIterator = tieEntries(object).iterator();
+        while(tieIterator.hasNext()){
+            if(tieIterator.next().t.equals(object)){
+                tieIterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(final Object object){
+        for(final Entry<T> tieEntry : tieEntries(object)){
+            if(tieEntry.t.equals(object)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return entries tying with object by sortPlan (in the order they were added)
+     */
+    @SuppressWarnings("unchecked")
+    private NavigableSet<Entry<T>> tieEntries(final Object object){
+        if(!sortPlan.getTClass().isInstance(object)){
+            return Collections.emptyNavigableSet();
+        }
+        final T t = (T) object;
+        return entries.subSet(new Entry<>(t, Long.MIN_VALUE), true, new Entry<>(t, Long.MAX_VALUE), true);
+    }
+
+    @Override
+    public Iterator<T> iterator(){
+        return toTIterator(entries.iterator());
+    }
+
+    @Override
+    public int size(){
+        return entries.size();
+    }
+
+    @Override
+    public void clear(){
+        entries.clear();
+    }
+
+    /**
+     * @return first Object in sorted order
+     * @throws NoSuchElementException if empty
+     */
+    public T first(){
+        return entries.first().t;
+    }
+    /**
+     * @return last Object in sorted order
+     * @throws NoSuchElementException if empty
+     */
+    public T last(){
+        return entries.last().t;
+    }
+
+    /**
+     * @param prefixValues values of the first prefixValues.length sort fields (in precedence order),
+     *                      of the same (Boxed) types as those fields
+     *
+     * @return new List of the Objects with those sort field values, in sorted order
+     *          (i.e: by the remaining sort fields)
+     */
+    public List<T> findByPrefix(@NotEmpty final Object... prefixValues){
+        return rangeByPrefix(Arrays.asList(prefixValues), true, Arrays.asList(prefixValues), true);
+    }
+
+    /**
+     * @param fromPrefixValues values of a prefix of the sort fields (in precedence order), of the same (Boxed) types
+     *                          as those fields, from which to include Objects
+     * @param fromInclusive true to include Objects equal (on that prefix of the sort fields) to fromPrefixValues
+     * @param toPrefixValues values of a prefix of the sort fields, up to which to include Objects
+     * @param toInclusive true to include Objects equal (on that prefix of the sort fields) to toPrefixValues
+     *
+     * @return new List of the Objects in that range, in sorted order
+     */
+    public List<T> rangeByPrefix(
+            @NotNull final List<?> fromPrefixValues, boolean fromInclusive,
+            @NotNull final List<?> toPrefixValues, boolean toInclusive){
+
+        final Entry<T> fromProbe = new Entry<>(validatePrefix(fromPrefixValues), fromInclusive ? -1 : 1);
+        final Entry<T> toProbe = new Entry<>(validatePrefix(toPrefixValues), toInclusive ? 1 : -1);
+        if(compareProbes(fromProbe, toProbe) > 0){
+            return new ArrayList<>();
+        }
+
+        final List<T> range = new ArrayList<>();
+        final Iterator<T> rangeIterator = toTIterator(entries.subSet(fromProbe, false, toProbe, false).iterator());
+        while(rangeIterator.hasNext()){
+            range.add(rangeIterator.next());
+        }
+        return range;
+    }
+    private Object[] validatePrefix(final List<?> prefixValues){
+        if(prefixValues.size() > sortPlan.getSortFields().length){
+            throw new IllegalArgumentException(
+                prefixValues.size() + " prefix values for only " + sortPlan.getSortFields().length + " sort fields.");
+        }
+        return prefixValues.toArray();
+    }
+
+    static private <T> Iterator<T> toTIterator(final Iterator<Entry<T>> entryIterator){
+        return new Iterator<T>() {
+            @Override
+            public boolean hasNext(){
+                return entryIterator.hasNext();
+            }
+            @Override
+            public T next(){
+                return entryIterator.next().t;
+            }
+            @Override
+            public void remove(){
+                entryIterator.remove();
+            }
+        };
+    }
+
+    /*
+     * ENTRIES
+     */
+
+    /**
+     * Either an added Object (with its add sequence),
+     *  or a probe of prefix values (ordering just before or just after all Objects equal on that prefix)
+     */
+    static private final class Entry<T> {
+
+        private final T t;
+        private final long addSequence;
+
+        private final Object[] prefixValues;
+        // -1 to order just before Objects equal on prefixValues, or 1 for just after
+        private final int probeSide;
+
+        private Entry(final T t, long addSequence){
+            this.t = t;
+            this.addSequence = addSequence;
+            prefixValues = null;
+            probeSide = 0;
+        }
+        private Entry(final Object[] prefixValues, int probeSide){
+            t = null;
+            addSequence = 0;
+            this.prefixValues = prefixValues;
+            this.probeSide = probeSide;
+        }
+    }
+
+    private int compareEntries(final Entry<T> entry0, final Entry<T> entry1){
+        if(entry0.prefixValues != null && entry1.prefixValues != null){
+            return compareProbes(entry0, entry1);
+        } else if(entry0.prefixValues != null){
+            return compareProbe(entry0, entry1.t);
+        } else if(entry1.prefixValues != null){
+            return -compareProbe(entry1, entry0.t);
+        }
+
+        final int comparison = sortPlan.getComparator().compare(entry0.t, entry1.t);
+        return comparison != 0 ? comparison : Long.compare(entry0.addSequence, entry1.addSequence);
+    }
+
+    /**
+     * @return comparison of probe (on its prefix of the sort fields) to t
+     */
+    private int compareProbe(final Entry<T> probe, final T t){
+        final SortField[] sortFields = sortPlan.getSortFields();
+        for(int curSortPrecedence = 0; curSortPrecedence < probe.prefixValues.length; ++curSortPrecedence){
+            final SortField sortField = sortFields[curSortPrecedence];
+            final int comparison;
+            try{
+                comparison = SortUtil.compareFieldValues(
+                    probe.prefixValues[curSortPrecedence], sortField.read(t), sortField.descending);
+
+            } catch(NullPointerException e){
+                throw new RuntimeException(
+                    "Error getting field value (with index " + curSortPrecedence
+                        + " in sortFieldNamePrecedences), for sorting.",
+                    e);
+            }
+            if(comparison != 0){
+                return comparison;
+            }
+        }
+        return probe.probeSide;
+    }
+
+    /**
+     * @return comparison of probe0 to probe1 (on their common prefix of the sort fields,
+     *          then by their sides of the Objects equal on that common prefix)
+     */
+    private int compareProbes(final Entry<T> probe0, final Entry<T> probe1){
+        final SortField[] sortFields = sortPlan.getSortFields();
+        final int commonLength = Math.min(probe0.prefixValues.length, probe1.prefixValues.length);
+        for(int curSortPrecedence = 0; curSortPrecedence < commonLength; ++curSortPrecedence){
+            final int comparison = SortUtil.compareFieldValues(
+                probe0.prefixValues[curSortPrecedence], probe1.prefixValues[curSortPrecedence],
+                sortFields[curSortPrecedence].descending);
+            if(comparison != 0){
+                return comparison;
+            }
+        }
+        if(probe0.prefixValues.length < probe1.prefixValues.length){
+            // probe1 is among the Objects equal on probe0's (shorter) prefix, so probe0's side is before/after it
+            return probe0.probeSide;
+        } else if(probe0.prefixValues.length > probe1.prefixValues.length){
+            return -probe1.probeSide;
+        }
+        return Integer.compare(probe0.probeSide, probe1.probeSide);
+    }
+}
@@ -0,0 +1,98 @@
+package chrisellepola;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Selects the first k Objects (in sorted order) of a List, by a bounded heap:<br>
+ * (1) A max-heap holds the best k Objects seen so far, with the worst of them at its root<br>
+ * (2) Each further Object only enters the heap (replacing its root) if it orders before that root<br>
+ * (3) The final k Objects are sorted<br>
+ * <br>
+ * Runtime is O(t*log(k)) (rather than O(t*log(t)) for sorting all t Objects).
+ * Ties are ordered by their original List index, so exactly the same as the first k of a full stable sort.
+ */
+final class TopKSelector {
+
+    private TopKSelector(){}
+
+    /**
+     * @param tList (not modified)
+     * @param comparator
+     * @param k (non-negative) number of Objects to select
+     * @param <T> type of Objects to be sorted
+     *
+     * @return new List of the first (up to) k Objects of tList, as if stably sorted by comparator
+     */
+    @SuppressWarnings("unchecked")
+    static <T> List<T> selectTopK(
+            @NotNull final List<T> tList, @NotNull final Comparator<? super T> comparator, int k){
+
+        validateK(k);
+        final Object[] ts = tList.toArray();
+        final int heapSize = Math.min(k, ts.length);
+        // Compare by comparator, then by original index (for stability)
+        final IndexSort.RowComparator rowComparator = (row0, row1) -> {
+            final int comparison = comparator.compare((T) ts[row0], (T) ts[row1]);
+            return comparison != 0 ? comparison : Integer.compare(row0, row1);
+        };
+
+        /*
+         * Heapify the first heapSize rows */
+        final int[] heap = IndexSort.identity(heapSize);
+        for(int heapIdx = heapSize / 2 - 1; heapIdx >= 0; --heapIdx){
+            siftDown(heap, heapIdx, heapSize, rowComparator);
+        }
+
+        /*
+         * Offer each further row (which, having a later original index, only enters if strictly before the root) */
+        for(int row = heapSize; row < ts.length && heapSize > 0; ++row){
+            if(comparator.compare((T) ts[row], (T) ts[heap[0]]) < 0){
+                heap[0] = row;
+                siftDown(heap, 0, heapSize, rowComparator);
+            }
+        }
+
+        IndexSort.sort(heap, rowComparator);
+        final List<T> topK = new ArrayList<>(heapSize);
+        for(final int row : heap){
+            topK.add((T) ts[row]);
+        }
+        return topK;
+    }
+
+    /**
+     * @throws IllegalArgumentException if k is negative
+     */
+    static void validateK(int k){
+        if(k < 0){
+            throw new IllegalArgumentException("k must be non-negative: " + k);
+        }
+    }
+
+    /**
+     * Restore the max-heap property below heapIdx.
+     */
+    static private void siftDown(
+            final int[] heap, int heapIdx, int heapSize, final IndexSort.RowComparator rowComparator){
+
+        final int row = heap[heapIdx];
+        while(true){
+            int childIdx = 2 * heapIdx + 1;
+            if(childIdx >= heapSize){
+                break;
+            }
+            if(childIdx + 1 < heapSize && rowComparator.compare(heap[childIdx + 1], heap[childIdx]) > 0){
+                ++childIdx;
+            }
+            if(rowComparator.compare(heap[childIdx], row) <= 0){
+                break;
+            }
+            heap[heapIdx] = heap[childIdx];
+            heapIdx = childIdx;
+        }
+        heap[heapIdx] = row;
+    }
+}
@@ -0,0 +1,79 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveSortTest {
+
+    @Test
+    public void testAdaptive_SortedPrefixWithTailSameAsReference(){
+        final Random random = new Random(60);
+        for(int trial = 0; trial < 60; ++trial){
+            final List<String> sortFieldNamePrecedences = makeRandomPrecedences(1 + random.nextInt(3), random);
+            // Sorted prefix (of possibly 0), followed by an unsorted tail (of possibly 0)
+            final List<RandomValueObjectForTest> prefix = referenceSorted(
+                makeRandomList(random.nextInt(400), random.nextDouble(), trial), sortFieldNamePrecedences);
+            final List<RandomValueObjectForTest> list = new ArrayList<>(prefix);
+            list.addAll(makeRandomList(random.nextInt(40), random.nextDouble(), 1000 + trial));
+            if(list.isEmpty()){
+                continue;
+            }
+            final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, sortFieldNamePrecedences);
+            final SortPlan<RandomValueObjectForTest> sortPlan = SortPlan.forList(list, sortFieldNamePrecedences);
+
+            final List<RandomValueObjectForTest> linkedList = new LinkedList<>(list);
+            SortMode.ADAPTIVE.sort(list, sortPlan);
+            assertSameOrder(referenceSorted, list);
+            SortMode.ADAPTIVE.sort(linkedList, sortPlan);
+            assertSameOrder(referenceSorted, linkedList);
+        }
+    }
+
+    @Test
+    public void testAdaptive_SortedListNotWritten(){
+        final List<String> sortFieldNamePrecedences = Arrays.asList("-intVar", "stringVar");
+        final List<RandomValueObjectForTest> sorted =
+            referenceSorted(makeRandomList(500, 0.8, 61), sortFieldNamePrecedences);
+
+        // Would throw if written
+        SortMode.ADAPTIVE.sort(
+            Collections.unmodifiableList(sorted), SortPlan.forList(sorted, sortFieldNamePrecedences));
+    }
+
+    @Test
+    public void testMergeSorted_SameAsReferenceOfConcatenation(){
+        final Random random = new Random(62);
+        for(int trial = 0; trial < 40; ++trial){
+            final List<String> sortFieldNamePrecedences = makeRandomPrecedences(1 + random.nextInt(3), random);
+            final List<List<RandomValueObjectForTest>> sortedLists = new ArrayList<>();
+            final List<RandomValueObjectForTest> concatenation = new ArrayList<>();
+            for(int listIdx = random.nextInt(6); listIdx > 0; --listIdx){
+                final List<RandomValueObjectForTest> sortedList = referenceSorted(
+                    makeRandomList(random.nextInt(100), random.nextDouble(), 100 * trial + listIdx),
+                    sortFieldNamePrecedences);
+                sortedLists.add(sortedList);
+                concatenation.addAll(sortedList);
+            }
+
+            final List<RandomValueObjectForTest> merged = SortUtil.mergeSorted(sortedLists, sortFieldNamePrecedences);
+            assertSameOrder(referenceSorted(concatenation, sortFieldNamePrecedences), merged);
+        }
+
+        assertTrue(SortUtil.mergeSorted(
+            Arrays.asList(new ArrayList<RandomValueObjectForTest>(), new LinkedList<RandomValueObjectForTest>()),
+            Arrays.asList("intVar")).isEmpty());
+    }
+}
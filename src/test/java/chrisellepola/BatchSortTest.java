@@ -0,0 +1,111 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BatchSortTest {
+
+    static private final List<String> SORT_FIELD_NAME_PRECEDENCES = Arrays.asList("-booleanVar", "stringVar", "intVar");
+
+    @Test
+    public void testSortConcurrently_EachSameAsReferenceWithoutPrinting() throws Exception{
+        final Random random = new Random(50);
+        final List<List<RandomValueObjectForTest>> lists = new ArrayList<>();
+        final List<List<RandomValueObjectForTest>> referenceSortedLists = new ArrayList<>();
+        // Including an empty List
+        lists.add(new ArrayList<>());
+        for(int trial = 0; trial < 200; ++trial){
+            final List<RandomValueObjectForTest> list = makeRandomList(random.nextInt(300), random.nextDouble(), trial);
+            lists.add(list);
+        }
+        for(final List<RandomValueObjectForTest> list : lists){
+            referenceSortedLists.add(referenceSorted(list, SORT_FIELD_NAME_PRECEDENCES));
+        }
+
+        final PrintStream systemOut = System.out;
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        final List<CompletableFuture<List<RandomValueObjectForTest>>> sortedFutures;
+        try{
+            System.setOut(new PrintStream(printed, true));
+            sortedFutures = SortUtil.sortTopLevelValueObjectListsConcurrently(lists, SORT_FIELD_NAME_PRECEDENCES);
+            CompletableFuture.allOf(sortedFutures.toArray(new CompletableFuture<?>[0])).get();
+        } finally{
+            System.setOut(systemOut);
+        }
+
+        assertEquals(0, printed.size());
+        assertEquals(lists.size(), sortedFutures.size());
+        for(int idx = 0; idx < lists.size(); ++idx){
+            assertSame(lists.get(idx), sortedFutures.get(idx).get());
+            assertSameOrder(referenceSortedLists.get(idx), lists.get(idx));
+        }
+    }
+
+    @Test
+    public void testSortConcurrently_OnExecutorBySortMode() throws Exception{
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try{
+            for(final SortMode sortMode : SortMode.values()){
+                final List<List<RandomValueObjectForTest>> lists = new ArrayList<>();
+                for(int trial = 0; trial < 20; ++trial){
+                    lists.add(makeRandomList(1 + trial * 10, 0.5, trial));
+                }
+                final SortPlan<RandomValueObjectForTest> sortPlan =
+                    SortPlan.forClass(RandomValueObjectForTest.class, SORT_FIELD_NAME_PRECEDENCES);
+
+                final List<CompletableFuture<List<RandomValueObjectForTest>>> sortedFutures =
+                    SortUtil.sortTopLevelValueObjectListsConcurrently(lists, sortPlan, sortMode, executorService);
+                for(int idx = 0; idx < lists.size(); ++idx){
+                    final List<RandomValueObjectForTest> sorted = sortedFutures.get(idx).get();
+                    assertSameOrder(referenceSorted(sorted, SORT_FIELD_NAME_PRECEDENCES), sorted);
+                }
+            }
+        } finally{
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testSortConcurrently_FailureOnlyFailsItsFuture() throws Exception{
+        final List<List<Object>> lists = Arrays.asList(
+            new ArrayList<>(makeRandomList(10, 0, 51)),
+            new ArrayList<>(Arrays.asList("not", "a", "RandomValueObjectForTest")),
+            new ArrayList<>(makeRandomList(10, 0, 52)));
+
+        final List<CompletableFuture<List<Object>>> sortedFutures =
+            SortUtil.sortTopLevelValueObjectListsConcurrently(lists, SORT_FIELD_NAME_PRECEDENCES);
+        assertSame(lists.get(0), sortedFutures.get(0).get());
+        assertSame(lists.get(2), sortedFutures.get(2).get());
+        try{
+            sortedFutures.get(1).get();
+            fail();
+        } catch(ExecutionException e){
+            assertTrue(sortedFutures.get(1).isCompletedExceptionally());
+        }
+
+        // All empty
+        final List<List<Object>> emptyLists = Collections.singletonList(new ArrayList<>());
+        assertSame(emptyLists.get(0),
+            SortUtil.sortTopLevelValueObjectListsConcurrently(emptyLists, SORT_FIELD_NAME_PRECEDENCES).get(0).get());
+    }
+}
@@ -0,0 +1,105 @@
+package chrisellepola;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class CaseInsensitiveCompareTest {
+
+    // Mostly ASCII letters, with some that fold specially (e.g: Kelvin sign, dotted/dotless I, sharp s) & surrogates
+    static private final char[] CHARS = ("aAbBkKzZ09 _~\u00e9\u00c9\u0130\u0131\u212a\u00df\u03a3\u03c3\u03c2"
+        + "\ud801\udc00\ud801\udc28\u0000\uffff").toCharArray();
+
+    @Test
+    public void testCompareStrings_SameSignAsCompareToIgnoreCase(){
+        final Random random = new Random(21);
+        for(int trial = 0; trial < 100000; ++trial){
+            final String string0 = makeRandomString(random);
+            final String string1 = random.nextInt(4) == 0 ? string0.toUpperCase() : makeRandomString(random);
+
+            assertEquals(string0 + " vs " + string1,
+                Integer.signum(string0.compareToIgnoreCase(string1)),
+                Integer.signum(CaseInsensitiveCompare.compareStrings(string0, string1)));
+        }
+    }
+
+    @Test
+    public void testCompareStrings_NonAsciiAndSurrogates_SameSignAsCompareToIgnoreCase(){
+        final String[] strings = {
+            // Non-ASCII BMP letters, incl. ones that fold specially or to ASCII (e.g: Kelvin sign, sharp s)
+            "\u00e9", "\u00c9", "\u00df", "SS", "ss", "\u0130", "i", "\u0131", "I", "\u212a", "k", "K",
+            "\u03a3", "\u03c3", "\u03c2", "\uff21", "\uff41", "\uffff",
+            // Supplementary code points (Deseret upper & lower case, an emoji, a caseless math letter)
+            "\ud801\udc00", "\ud801\udc28", "\ud83d\ude00", "\ud835\udc00",
+            // Unpaired surrogates
+            "\ud801", "\udc28", "\udc00\ud801",
+            // Surrogates after & before other chars
+            "a\ud801\udc00", "A\ud801\udc28", "\ud801\udc00b", "\ud801\udc28B", "\u00e9\ud801\udc00",
+            "\ud801\udc00\ud801\udc28", "\ud801\udc28\ud801\udc00", "\u00c9\ud801\udc28x" };
+
+        for(final String string0 : strings){
+            for(final String string1 : strings){
+                final int expectedSign = Integer.signum(string0.compareToIgnoreCase(string1));
+                assertEquals(string0 + " vs " + string1,
+                    expectedSign, Integer.signum(CaseInsensitiveCompare.compareStrings(string0, string1)));
+
+                final String folded0 = CaseInsensitiveCompare.foldString(string0);
+                final String folded1 = CaseInsensitiveCompare.foldString(string1);
+                if(folded0 != null && folded1 != null){
+                    assertEquals(string0 + " vs " + string1, expectedSign, Integer.signum(folded0.compareTo(folded1)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFoldString_NullOnlyForSurrogates(){
+        for(final String string : new String[]{ "\u00e9\u00c9", "\u212aK", "\u03c2\u03a3", "\uff21" }){
+            assertNotNull(string, CaseInsensitiveCompare.foldString(string));
+        }
+        for(final String string : new String[]{ "\ud801\udc00", "a\ud801\udc28", "\ud801", "\u00e9\udc28" }){
+            assertNull(string, CaseInsensitiveCompare.foldString(string));
+        }
+    }
+
+    @Test
+    public void testCompareChars_SameSignAsCompareToIgnoreCase_AllBmpPairsWithLetters(){
+        for(int c0 = Character.MIN_VALUE; c0 <= Character.MAX_VALUE; ++c0){
+            for(final char c1 : CHARS){
+                assertEquals(
+                    Integer.signum(String.valueOf((char) c0).compareToIgnoreCase(String.valueOf(c1))),
+                    Integer.signum(CaseInsensitiveCompare.compareChars((char) c0, c1)));
+                assertEquals(
+                    Integer.signum(String.valueOf((char) c0).compareToIgnoreCase(String.valueOf(c1))),
+                    Integer.signum(
+                        CaseInsensitiveCompare.compareStrings(String.valueOf((char) c0), String.valueOf(c1))));
+            }
+        }
+    }
+
+    @Test
+    public void testSortUtilCompareFieldValues_CharactersSameAsStrings(){
+        for(final char c0 : CHARS){
+            for(final char c1 : CHARS){
+                for(final boolean descending : new boolean[]{ false, true }){
+                    assertEquals(
+                        Integer.signum(SortUtil.compareStrings(
+                            String.valueOf(c0), String.valueOf(c1), descending)),
+                        Integer.signum(SortUtil.compareFieldValues(c0, c1, descending)));
+                }
+            }
+        }
+    }
+
+    static private String makeRandomString(final Random random){
+        final char[] chars = new char[random.nextInt(6)];
+        for(int charIdx = 0; charIdx < chars.length; ++charIdx){
+            chars[charIdx] = CHARS[random.nextInt(CHARS.length)];
+        }
+        return new String(chars);
+    }
+}
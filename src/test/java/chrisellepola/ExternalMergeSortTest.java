@@ -0,0 +1,131 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalMergeSortTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    static private final RecordSerializer<RandomValueObjectForTest> RECORD_SERIALIZER =
+        new RecordSerializer<RandomValueObjectForTest>() {
+            @Override
+            public byte[] serialize(RandomValueObjectForTest t) throws IOException{
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                final DataOutputStream dataOutput = new DataOutputStream(bytes);
+                dataOutput.writeUTF(t.stringVar);
+                dataOutput.writeInt(t.intVar);
+                dataOutput.writeInt(t.integerBoxedVar);
+                dataOutput.writeChar(t.charVar);
+                dataOutput.writeFloat(t.floatVar);
+                dataOutput.writeBoolean(t.booleanVar);
+                dataOutput.writeLong(t.longVar);
+                dataOutput.writeDouble(t.doubleVar);
+                return bytes.toByteArray();
+            }
+
+            @Override
+            public RandomValueObjectForTest deserialize(byte[] bytes) throws IOException{
+                final DataInputStream dataInput = new DataInputStream(new ByteArrayInputStream(bytes));
+                return new RandomValueObjectForTest(
+                    dataInput.readUTF(), dataInput.readInt(), dataInput.readInt(), dataInput.readChar(),
+                    dataInput.readFloat(), dataInput.readBoolean(), dataInput.readLong(), dataInput.readDouble());
+            }
+        };
+
+    @Test
+    public void testSort_ManyRuns_SameOrderAsReference() throws IOException{
+        final List<RandomValueObjectForTest> list = makeRandomList(5000, 0.7, 9);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("-booleanVar", "stringVar", "-floatVar");
+        final Path tempDirectory = temporaryFolder.getRoot().toPath();
+
+        final List<String> sorted;
+        try(final Stream<RandomValueObjectForTest> sortedStream = SortUtil.sortTopLevelValueObjectsExternally(
+                list.stream(), SortPlan.forList(list, sortFieldNamePrecedences), RECORD_SERIALIZER,
+                2000, tempDirectory)){
+
+            // Runs of under 2000 bytes
+            assertTrue(tempDirectory.toFile().list().length > 50);
+            sorted = sortedStream.map(RandomValueObjectForTest::toString).collect(Collectors.toList());
+        }
+
+        assertEquals(
+            referenceSorted(list, sortFieldNamePrecedences).stream()
+                .map(RandomValueObjectForTest::toString).collect(Collectors.toList()),
+            sorted);
+        // Closing deleted the runs
+        assertEquals(0, tempDirectory.toFile().list().length);
+    }
+
+    @Test
+    public void testSort_OneRun_NotSpilled(){
+        final List<RandomValueObjectForTest> list = makeRandomList(100, 0.2, 10);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("intVar", "-charVar");
+
+        try(final Stream<RandomValueObjectForTest> sortedStream = SortUtil.sortTopLevelValueObjectsExternally(
+                list.iterator(), SortPlan.forList(list, sortFieldNamePrecedences), RECORD_SERIALIZER,
+                1 << 20, temporaryFolder.getRoot().toPath())){
+
+            assertEquals(0, temporaryFolder.getRoot().list().length);
+            // (deserialized from the records held, so equal but not the same Objects)
+            assertEquals(
+                referenceSorted(list, sortFieldNamePrecedences).stream()
+                    .map(RandomValueObjectForTest::toString).collect(Collectors.toList()),
+                sortedStream.map(RandomValueObjectForTest::toString).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testSort_EachObjectSerializedOnce() throws IOException{
+        final List<RandomValueObjectForTest> list = makeRandomList(3000, 0.5, 12);
+        final int[] serializations = new int[1];
+        final RecordSerializer<RandomValueObjectForTest> countingRecordSerializer =
+            new RecordSerializer<RandomValueObjectForTest>() {
+                @Override
+                public byte[] serialize(RandomValueObjectForTest t) throws IOException{
+                    ++serializations[0];
+                    return RECORD_SERIALIZER.serialize(t);
+                }
+
+                @Override
+                public RandomValueObjectForTest deserialize(byte[] bytes) throws IOException{
+                    return RECORD_SERIALIZER.deserialize(bytes);
+                }
+            };
+
+        try(final Stream<RandomValueObjectForTest> sortedStream = SortUtil.sortTopLevelValueObjectsExternally(
+                list.iterator(), SortPlan.forList(list, Arrays.asList("stringVar")), countingRecordSerializer,
+                4000, temporaryFolder.getRoot().toPath())){
+
+            assertTrue(temporaryFolder.getRoot().list().length > 10);
+            assertEquals(3000, sortedStream.count());
+        }
+        assertEquals(3000, serializations[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSort_RecordLargerThanBudgetFails(){
+        final List<RandomValueObjectForTest> list = makeRandomList(10, 0.2, 11);
+        SortUtil.sortTopLevelValueObjectsExternally(
+            list.iterator(), SortPlan.forList(list, Arrays.asList("intVar")), RECORD_SERIALIZER, 8, null);
+    }
+}
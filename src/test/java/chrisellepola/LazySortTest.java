@@ -0,0 +1,72 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class LazySortTest {
+
+    @Test
+    public void testSortedIterator_SameAsReference(){
+        final Random random = new Random(80);
+        for(int trial = 0; trial < 40; ++trial){
+            final List<RandomValueObjectForTest> list =
+                makeRandomList(1 + random.nextInt(500), random.nextDouble(), trial);
+            final List<RandomValueObjectForTest> unmodified = new ArrayList<>(list);
+            final List<String> sortFieldNamePrecedences = makeRandomPrecedences(1 + random.nextInt(4), random);
+            final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, sortFieldNamePrecedences);
+
+            final Iterator<RandomValueObjectForTest> sortedIterator =
+                SortUtil.sortedIterator(list, sortFieldNamePrecedences);
+            // Later changes to list are not iterated
+            list.clear();
+            final List<RandomValueObjectForTest> iterated = new ArrayList<>();
+            sortedIterator.forEachRemaining(iterated::add);
+            assertSameOrder(referenceSorted, iterated);
+            try{
+                sortedIterator.next();
+                fail();
+            } catch(NoSuchElementException e){
+                // Exhausted
+            }
+
+            // Just the first Objects
+            final int limit = random.nextInt(unmodified.size() + 1);
+            assertSameOrder(
+                referenceSorted.subList(0, limit),
+                SortUtil.sortedStream(unmodified, sortFieldNamePrecedences).limit(limit).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testSortedIterator_NothingReadUntilIterated(){
+        // Would fail to read the null sort field value
+        final List<RandomValueObjectForTest> list = new ArrayList<>(makeRandomList(10, 0, 81));
+        list.add(new RandomValueObjectForTest("a", 0, null, 'a', 0, false, 0, 0));
+        final Iterator<RandomValueObjectForTest> sortedIterator =
+            SortUtil.sortedIterator(list, Arrays.asList("integerBoxedVar"));
+        try{
+            sortedIterator.next();
+            fail();
+        } catch(RuntimeException e){
+            // Read on first next()
+        }
+
+        assertFalse(
+            SortUtil.sortedIterator(new ArrayList<RandomValueObjectForTest>(), Arrays.asList("intVar")).hasNext());
+    }
+}
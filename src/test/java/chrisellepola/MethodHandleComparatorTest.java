@@ -0,0 +1,190 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MethodHandleComparatorTest {
+
+    static public class OtherTypesValueObjectForTest {
+        public final Object objectVar;
+        public final BigDecimal bigDecimalVar;
+        public final short shortVar;
+        public final Character characterBoxedVar;
+
+        public OtherTypesValueObjectForTest(
+                Object objectVar, BigDecimal bigDecimalVar, short shortVar, Character characterBoxedVar){
+            this.objectVar = objectVar;
+            this.bigDecimalVar = bigDecimalVar;
+            this.shortVar = shortVar;
+            this.characterBoxedVar = characterBoxedVar;
+        }
+    }
+
+    static public class ThrowingGetterValueObjectForTest {
+        public final int intVar;
+
+        public ThrowingGetterValueObjectForTest(int intVar){
+            this.intVar = intVar;
+        }
+        public int getThrowing() throws Exception{
+            throw new Exception("Not readable");
+        }
+    }
+
+    static class PackagePrivateValueObjectForTest {
+        public final int intVar;
+        public final String stringVar;
+
+        PackagePrivateValueObjectForTest(int intVar, String stringVar){
+            this.intVar = intVar;
+            this.stringVar = stringVar;
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testNewReader_ReadsSameValuesAsSortField(){
+        final List<RandomValueObjectForTest> list = makeRandomList(50, 0.5, 3);
+        for(final String fieldName : RandomValueObjects.ALL_FIELD_NAMES){
+            final SortField sortField = SortField.resolve(RandomValueObjectForTest.class, 0, fieldName);
+            final Object reader = FieldReaderGenerator.newReader(sortField);
+            assertTrue(FieldReaderGenerator.readerType(sortField.valueType).isInstance(reader));
+
+            for(final RandomValueObjectForTest t : list){
+                final Object value = sortField.read(t);
+                if(reader instanceof ToIntFunction){
+                    final int readValue = ((ToIntFunction<Object>) reader).applyAsInt(t);
+                    if(value instanceof Boolean){
+                        assertEquals((Boolean) value ? 1 : 0, readValue);
+                    } else if(value instanceof Character){
+                        assertEquals((char) (Character) value, readValue);
+                    } else {
+                        assertEquals(value, readValue);
+                    }
+                } else if(reader instanceof ToLongFunction){
+                    assertEquals(value, ((ToLongFunction<Object>) reader).applyAsLong(t));
+                } else if(reader instanceof ToDoubleFunction){
+                    assertEquals(
+                        ((Number) value).doubleValue(), ((ToDoubleFunction<Object>) reader).applyAsDouble(t), 0);
+                } else {
+                    assertSame(value, ((Function<Object, Object>) reader).apply(t));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCompare_PackagePrivateClass_SameOrderAsReference(){
+        assertNull(FieldReaderGenerator.newReader(
+            SortField.resolve(PackagePrivateValueObjectForTest.class, 0, "intVar")));
+
+        final List<PackagePrivateValueObjectForTest> list = Arrays.asList(
+            new PackagePrivateValueObjectForTest(2, "b"), new PackagePrivateValueObjectForTest(1, "B"),
+            new PackagePrivateValueObjectForTest(2, "a"), new PackagePrivateValueObjectForTest(1, "c"));
+        final List<String> sortFieldNamePrecedences = Arrays.asList("-intVar", "stringVar");
+
+        final List<PackagePrivateValueObjectForTest> sorted = new ArrayList<>(list);
+        sorted.sort(SortPlan.forList(list, sortFieldNamePrecedences).getSpecializedComparator());
+
+        assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+    }
+
+    @Test
+    public void testCompare_SameOrderAsReference(){
+        final Random random = new Random(2);
+        for(int trial = 0; trial < 50; ++trial){
+            final List<RandomValueObjectForTest> list = makeRandomList(300, random.nextDouble(), trial);
+            final List<String> sortFieldNamePrecedences =
+                makeRandomPrecedences(1 + random.nextInt(RandomValueObjects.ALL_FIELD_NAMES.size()), random);
+
+            final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+            sorted.sort(SortUtil.makeSpecializedComparatorForPrecedence(
+                SortPlan.forList(list, sortFieldNamePrecedences)));
+
+            assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+        }
+    }
+
+    @Test
+    public void testCompare_OtherTypes_SameOrderAsReference(){
+        final List<OtherTypesValueObjectForTest> list = Arrays.asList(
+            new OtherTypesValueObjectForTest('b', new BigDecimal("1.10"), (short) -3, 'B'),
+            new OtherTypesValueObjectForTest('A', new BigDecimal("1.1"), (short) 7, 'a'),
+            new OtherTypesValueObjectForTest('a', new BigDecimal("-2"), (short) 7, 'A'),
+            new OtherTypesValueObjectForTest('c', new BigDecimal("0"), (short) -3, 'c'));
+
+        for(List<String> sortFieldNamePrecedences : Arrays.asList(
+                Arrays.asList("objectVar", "-shortVar"),
+                Arrays.asList("-bigDecimalVar", "characterBoxedVar"),
+                Arrays.asList("shortVar", "-characterBoxedVar", "bigDecimalVar"))){
+
+            final List<OtherTypesValueObjectForTest> sorted = new ArrayList<>(list);
+            sorted.sort(SortPlan.forList(list, sortFieldNamePrecedences).getSpecializedComparator());
+
+            assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+        }
+    }
+
+    @Test
+    public void testCompare_NullValueFails(){
+        final List<RandomValueObjectForTest> list = Arrays.asList(
+            new RandomValueObjectForTest("a", 0, null, 'a', 0f, false, 0L, 0d),
+            new RandomValueObjectForTest("b", 0, 1, 'b', 0f, false, 0L, 0d));
+
+        try{
+            SortPlan.forList(list, Arrays.asList("intVar", "integerBoxedVar"))
+                .getSpecializedComparator().compare(list.get(0), list.get(1));
+            fail();
+        } catch(RuntimeException e){
+            assertEquals(NullPointerException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void testCompare_ThrowingGetterFailsInAllSortModes(){
+        final SortPlan<ThrowingGetterValueObjectForTest> sortPlan =
+            SortPlan.forClass(ThrowingGetterValueObjectForTest.class, Arrays.asList("intVar", "-throwing"));
+        try{
+            sortPlan.getSpecializedComparator().compare(
+                new ThrowingGetterValueObjectForTest(0), new ThrowingGetterValueObjectForTest(0));
+            fail();
+        } catch(RuntimeException e){
+            assertEquals(
+                "Error getting field value (with index 1 in sortFieldNamePrecedences), for sorting.", e.getMessage());
+            assertEquals(Exception.class, e.getCause().getClass());
+        }
+
+        for(final SortMode sortMode : SortMode.values()){
+            final List<ThrowingGetterValueObjectForTest> list = new ArrayList<>(Arrays.asList(
+                new ThrowingGetterValueObjectForTest(0), new ThrowingGetterValueObjectForTest(0)));
+            try{
+                SortUtil.sortTopLevelValueObjectListWithoutPrinting(list, sortPlan, sortMode);
+                fail();
+            } catch(RuntimeException e){
+                assertEquals(
+                    "Error getting field value (with index 1 in sortFieldNamePrecedences), for sorting.",
+                    e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+
+public class MultiKeySortTest {
+
+    enum Size { SMALL, MEDIUM, LARGE }
+
+    static public class EnumValueObjectForTest {
+
+        public final Size size;
+        public final boolean booleanVar;
+        public final int intVar;
+
+        EnumValueObjectForTest(Size size, boolean booleanVar, int intVar){
+            this.size = size;
+            this.booleanVar = booleanVar;
+            this.intVar = intVar;
+        }
+    }
+
+    @Test
+    public void testSort_EnumAndBooleanFields_AllModesSameOrderAsComparator(){
+        final Random random = new Random(28);
+        final List<EnumValueObjectForTest> list = new ArrayList<>();
+        for(int idx = 0; idx < 1000; ++idx){
+            list.add(new EnumValueObjectForTest(
+                Size.values()[random.nextInt(Size.values().length)], random.nextBoolean(), random.nextInt(10)));
+        }
+
+        for(final List<String> sortFieldNamePrecedences : Arrays.asList(
+                Arrays.asList("size", "booleanVar"),
+                Arrays.asList("-size", "-booleanVar", "intVar"),
+                Arrays.asList("booleanVar", "-intVar", "-size"))){
+
+            final SortPlan<EnumValueObjectForTest> sortPlan = SortPlan.forList(list, sortFieldNamePrecedences);
+            final List<EnumValueObjectForTest> comparatorSorted = new ArrayList<>(list);
+            comparatorSorted.sort(sortPlan.getComparator());
+
+            for(final SortMode sortMode : SortMode.values()){
+                final List<EnumValueObjectForTest> sorted = new ArrayList<>(list);
+                sortMode.sort(sorted, sortPlan);
+                assertSameOrder(comparatorSorted, sorted);
+            }
+        }
+    }
+
+    @Test
+    public void testSort_DeepPrecedencesHeavyTies_SameOrderAsReference(){
+        final List<RandomValueObjectForTest> list = makeRandomList(5000, 0.995, 29);
+        final List<String> sortFieldNamePrecedences = Arrays.asList(
+            "booleanVar", "-charVar", "intVar", "-integerBoxedVar", "stringVar", "-floatVar", "longVar", "doubleVar");
+
+        final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+        SortMode.MULTIKEY.sort(sorted, SortPlan.forList(list, sortFieldNamePrecedences));
+
+        assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+    }
+
+    // Each of the many tie groups must cost only its own size (not that of all rows) to sort
+    @Test(timeout = 20000)
+    public void testSort_ManyFirstFieldTieGroups_SameOrderAsComparator(){
+        final List<RandomValueObjectForTest> list = makeRandomList(400000, 0.75, 30);
+        final SortPlan<RandomValueObjectForTest> sortPlan =
+            SortPlan.forList(list, Arrays.asList("intVar", "-longVar", "stringVar"));
+
+        final List<RandomValueObjectForTest> comparatorSorted = new ArrayList<>(list);
+        comparatorSorted.sort(sortPlan.getComparator());
+        final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+        SortMode.MULTIKEY.sort(sorted, sortPlan);
+
+        assertSameOrder(comparatorSorted, sorted);
+    }
+}
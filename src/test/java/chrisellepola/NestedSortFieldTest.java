@@ -0,0 +1,143 @@
+package chrisellepola;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class NestedSortFieldTest {
+
+    static private final List<String> SORT_FIELD_NAME_PRECEDENCES =
+        Arrays.asList("-address.zip", "name.last", "address.number", "-address.verified");
+
+    // Only a public variable field at the top-level
+    static public class Customer {
+        public final Address address;
+        private final Name name;
+
+        Customer(Address address, Name name){
+            this.address = address;
+            this.name = name;
+        }
+        // Record-style component accessor
+        public Name name(){
+            return name;
+        }
+    }
+    // Only getters
+    static public class Address {
+        private final String zip;
+        private final int number;
+        private final boolean verified;
+
+        Address(String zip, int number, boolean verified){
+            this.zip = zip;
+            this.number = number;
+            this.verified = verified;
+        }
+        public String getZip(){
+            return zip;
+        }
+        public int getNumber(){
+            return number;
+        }
+        public boolean isVerified(){
+            return verified;
+        }
+        // Not a getter:  returns nothing
+        public void getChecked(){
+        }
+        // Not a record component accessor:  no field of the same name
+        public String formatted(){
+            return zip + " " + number;
+        }
+    }
+    static public class Name {
+        private final String last;
+
+        Name(String last){
+            this.last = last;
+        }
+        public String last(){
+            return last;
+        }
+    }
+
+    @Test
+    public void testNestedPaths_SameAsHandwrittenComparatorInAllSortModes(){
+        final Random random = new Random(70);
+        final String[] strings = { "a", "A", "b", "B", "zz", "" };
+        final List<Customer> list = new ArrayList<>();
+        for(int i = 0; i < 500; ++i){
+            list.add(new Customer(
+                new Address(strings[random.nextInt(strings.length)], random.nextInt(5), random.nextBoolean()),
+                new Name(strings[random.nextInt(strings.length)])));
+        }
+        final Comparator<Customer> handwrittenComparator = Comparator
+            .comparing((Customer customer) -> customer.address.getZip(), String.CASE_INSENSITIVE_ORDER).reversed()
+            .thenComparing(customer -> customer.name().last(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(customer -> customer.address.getNumber())
+            .thenComparing(customer -> customer.address.isVerified(), Comparator.reverseOrder());
+        final List<Customer> handwrittenSorted = new ArrayList<>(list);
+        handwrittenSorted.sort(handwrittenComparator);
+
+        final SortPlan<Customer> sortPlan = SortPlan.forClass(Customer.class, SORT_FIELD_NAME_PRECEDENCES);
+        for(final SortMode sortMode : SortMode.values()){
+            final List<Customer> sorted = new ArrayList<>(list);
+            SortUtil.sortTopLevelValueObjectListWithoutPrinting(sorted, sortPlan, sortMode);
+            assertSameOrder(handwrittenSorted, sorted);
+        }
+        final List<Customer> sorted = new ArrayList<>(list);
+        SortUtil.sortTopLevelValueObjectListWithoutPrinting(sorted, SORT_FIELD_NAME_PRECEDENCES);
+        assertSameOrder(handwrittenSorted, sorted);
+    }
+
+    @Test
+    public void testNestedPaths_NullAlongPathFailsSameAsNullValue(){
+        final SortPlan<Customer> sortPlan = SortPlan.forClass(Customer.class, SORT_FIELD_NAME_PRECEDENCES);
+        assertEquals(null, sortPlan.getSortFields()[0].read(new Customer(null, new Name("a"))));
+
+        // Null along the path (address), and null at the end of the path (zip)
+        for(final Customer nullZipCustomer : Arrays.asList(
+                new Customer(null, new Name("b")), new Customer(new Address(null, 0, false), new Name("b")))){
+            for(final SortMode sortMode : SortMode.values()){
+                final List<Customer> list = new ArrayList<>(Arrays.asList(
+                    new Customer(new Address("a", 0, false), new Name("a")), nullZipCustomer));
+                try{
+                    SortUtil.sortTopLevelValueObjectListWithoutPrinting(list, sortPlan, sortMode);
+                    fail();
+                } catch(RuntimeException e){
+                    assertEquals(
+                        "Error getting field value (with index 0 in sortFieldNamePrecedences), for sorting.",
+                        e.getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNestedPaths_UnresolvableFails(){
+        for(final String sortFieldNamePrecedence : new String[]{
+                "address.nope", "address.", "name.last.x", "zip",
+                "class", "hashCode", "address.class", "name.toString", "address.checked", "address.formatted",
+                "address.getZip" }){
+            try{
+                SortPlan.forClass(Customer.class, Collections.singletonList(sortFieldNamePrecedence));
+                fail();
+            } catch(RuntimeException e){
+                assertEquals(
+                    "Error resolving field (with index 0 in sortFieldNamePrecedences) in "
+                        + Customer.class.getName() + ", for sorting.",
+                    e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class NormalizedKeyEncoderTest {
+
+    static public class StringValueObjectForTest {
+        public final String stringVar;
+        public final BigDecimal bigDecimalVar;
+
+        public StringValueObjectForTest(String stringVar){
+            this.stringVar = stringVar;
+            this.bigDecimalVar = BigDecimal.ONE;
+        }
+    }
+
+    @Test
+    public void testCompareKeys_SameSignAsComparator(){
+        final Random random = new Random(4);
+        for(int trial = 0; trial < 50; ++trial){
+            final List<RandomValueObjectForTest> list = makeRandomList(100, random.nextDouble(), trial);
+            final SortPlan<RandomValueObjectForTest> sortPlan = SortPlan.forList(
+                list, makeRandomPrecedences(1 + random.nextInt(RandomValueObjects.ALL_FIELD_NAMES.size()), random));
+            final Comparator<RandomValueObjectForTest> comparator = sortPlan.getComparator();
+            final NormalizedKeyEncoder normalizedKeyEncoder = new NormalizedKeyEncoder(sortPlan);
+
+            for(RandomValueObjectForTest t0 : list){
+                final RandomValueObjectForTest t1 = list.get(random.nextInt(list.size()));
+                final byte[] key0 = normalizedKeyEncoder.encode(t0);
+                final byte[] key1 = normalizedKeyEncoder.encode(t1);
+                if(key0 == null || key1 == null){
+                    // Not encodable (see testEncode_NotForStringsWithSurrogates)
+                    continue;
+                }
+                assertEquals(
+                    t0 + " vs " + t1 + " by " + sortPlan,
+                    Integer.signum(comparator.compare(t0, t1)),
+                    Integer.signum(NormalizedKeyEncoder.compareKeys(key0, key1)));
+            }
+        }
+    }
+
+    @Test
+    public void testCompareKeys_StringsWithZeroBytesAndPrefixes(){
+        final List<StringValueObjectForTest> list = new ArrayList<>();
+        for(String string : Arrays.asList(
+                "", "\u0000", "\u0000\u0000", "a", "A\u0000", "a\u0100", "\u0100", "\u00ff", "ab", "Ab\u0000c",
+                "\uffff", "b", "\u0001")){
+            list.add(new StringValueObjectForTest(string));
+        }
+
+        for(List<String> sortFieldNamePrecedences : Arrays.asList(
+                Arrays.asList("stringVar"), Arrays.asList("-stringVar"))){
+            final List<StringValueObjectForTest> sorted = new ArrayList<>(list);
+            NormalizedKeySort.sort(sorted, SortPlan.forList(list, sortFieldNamePrecedences));
+
+            assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+        }
+    }
+
+    @Test
+    public void testEncode_NotForStringsWithSurrogates(){
+        final List<StringValueObjectForTest> list = new ArrayList<>();
+        // Deseret capital & small letter long i (the same ignoring case, by code point, since Java 9)
+        for(String string : Arrays.asList("\ud801\udc00", "a\ud801\udc28", "\uff41", "\ud801")){
+            list.add(new StringValueObjectForTest(string));
+        }
+        final NormalizedKeyEncoder normalizedKeyEncoder =
+            new NormalizedKeyEncoder(SortPlan.forList(list, Arrays.asList("-stringVar")));
+
+        for(StringValueObjectForTest t : list){
+            assertEquals(t.stringVar, t.stringVar.equals("\uff41"), normalizedKeyEncoder.encode(t) != null);
+        }
+    }
+
+    @Test
+    public void testCanEncode_NotForOtherTypes(){
+        assertFalse(NormalizedKeyEncoder.canEncode(SortPlan.forClass(
+            StringValueObjectForTest.class, Arrays.asList("stringVar", "bigDecimalVar"))));
+    }
+
+    @Test
+    public void testRadixSort_LargeList(){
+        final List<RandomValueObjectForTest> list = makeRandomList(20000, 0.5, 5);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("-stringVar", "floatVar", "-longVar", "intVar");
+
+        final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+        NormalizedKeySort.sort(sorted, SortPlan.forList(list, sortFieldNamePrecedences));
+
+        assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+    }
+}
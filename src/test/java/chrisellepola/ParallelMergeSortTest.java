@@ -0,0 +1,76 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertSame;
+
+public class ParallelMergeSortTest {
+
+    @Test
+    public void testSort_SameOrderAsReference(){
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try{
+            final Random random = new Random(6);
+            for(int trial = 0; trial < 40; ++trial){
+                final List<RandomValueObjectForTest> list =
+                    makeRandomList(random.nextInt(3000), random.nextDouble(), trial);
+                final List<String> sortFieldNamePrecedences =
+                    makeRandomPrecedences(1 + random.nextInt(3), random);
+
+                final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+                ParallelMergeSort.sort(
+                    sorted, SortPlan.forClass(RandomValueObjectForTest.class, sortFieldNamePrecedences).getComparator(),
+                    forkJoinPool, 1 + random.nextInt(64));
+
+                assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+            }
+        } finally{
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSort_ThresholdOfOne_AllTies(){
+        final List<RandomValueObjectForTest> list = makeRandomList(500, 1, 7);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("booleanVar");
+
+        final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+        ParallelMergeSort.sort(
+            sorted, SortPlan.forList(list, sortFieldNamePrecedences).getComparator(), ForkJoinPool.commonPool(), 1);
+
+        assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+    }
+
+    @Test
+    public void testSortInParallelWithoutPrinting_SameAsReference(){
+        final List<RandomValueObjectForTest> list = makeRandomList(5000, 0.5, 9);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("-doubleVar", "charVar", "stringVar");
+
+        final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+        assertSame(sorted, SortUtil.sortTopLevelValueObjectListInParallelWithoutPrinting(
+            sorted, SortPlan.forList(list, sortFieldNamePrecedences), null, 64));
+        assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+
+        final List<RandomValueObjectForTest> defaultSorted = new ArrayList<>(list);
+        SortUtil.sortTopLevelValueObjectListInParallelWithoutPrinting(defaultSorted, sortFieldNamePrecedences);
+        assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), defaultSorted);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSort_NonPositiveThresholdFails(){
+        final List<RandomValueObjectForTest> list = makeRandomList(10, 0, 8);
+        SortUtil.sortTopLevelValueObjectListInParallel(
+            list, SortPlan.forList(list, Arrays.asList("intVar")), null, 0);
+    }
+}
@@ -0,0 +1,174 @@
+package chrisellepola;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Shared value Objects & helpers, for testing alternate sorts against a reference Comparator
+ *  (see {@link #makeReferenceComparator}) that compares by the JDK alone, rather than by any sorting code under test.
+ */
+public class RandomValueObjects {
+
+    static final List<String> ALL_FIELD_NAMES = Collections.unmodifiableList(Arrays.asList(
+        "stringVar", "intVar", "integerBoxedVar", "charVar", "floatVar", "booleanVar", "longVar", "doubleVar"));
+
+    static public class RandomValueObjectForTest {
+
+        public final String stringVar;
+        public final int intVar;
+        public final Integer integerBoxedVar;
+        public final char charVar;
+        public final float floatVar;
+        public final boolean booleanVar;
+        public final long longVar;
+        public final double doubleVar;
+
+        public RandomValueObjectForTest(
+                String stringVar, int intVar, Integer integerBoxedVar, char charVar, float floatVar,
+                boolean booleanVar, long longVar, double doubleVar){
+
+            this.stringVar = stringVar;
+            this.intVar = intVar;
+            this.integerBoxedVar = integerBoxedVar;
+            this.charVar = charVar;
+            this.floatVar = floatVar;
+            this.booleanVar = booleanVar;
+            this.longVar = longVar;
+            this.doubleVar = doubleVar;
+        }
+        // no getters on purpose:  to force Java Reflection
+
+        @Override
+        public String toString(){
+            return "{" + stringVar + ", " + intVar + ", " + integerBoxedVar + ", " + charVar + ", " + floatVar
+                + ", " + booleanVar + ", " + longVar + ", " + doubleVar + "}";
+        }
+    }
+
+    /**
+     * @param size of List to make
+     * @param tieDensity 0 (few ties) to 1 (many ties) on each field
+     * @param seed for Random
+     *
+     * @return new (modifiable) List of size random RandomValueObjectForTest
+     */
+    static List<RandomValueObjectForTest> makeRandomList(int size, double tieDensity, long seed){
+        final Random random = new Random(seed);
+        final int cardinality = Math.max(2, (int) (size * (1 - tieDensity)));
+        final char[] chars = {
+            'a', 'A', 'b', 'B', 'z', 'Z', '0', '_', '\u00e9', '\u00c9', '\u0130', '\u0131', '\uff21', '\uff41' };
+        // Supplementary (Deseret upper & lower case) code points, as surrogate pairs
+        final String[] supplementaries = { "\ud801\udc00", "\ud801\udc28" };
+        final float[] floats = { -0.0f, 0.0f, -1.5f, 1.5f, Float.NaN, Float.NEGATIVE_INFINITY, Float.MAX_VALUE };
+
+        final List<RandomValueObjectForTest> list = new ArrayList<>(size);
+        for(int i = 0; i < size; ++i){
+            final StringBuilder stringVar = new StringBuilder();
+            final int stringLength = random.nextInt(4);
+            for(int c = 0; c < stringLength; ++c){
+                if(random.nextInt(8) == 0){
+                    stringVar.append(supplementaries[random.nextInt(supplementaries.length)]);
+                } else {
+                    stringVar.append(chars[random.nextInt(Math.min(chars.length, 2 + cardinality))]);
+                }
+            }
+
+            list.add(new RandomValueObjectForTest(
+                stringVar.toString(),
+                random.nextInt(cardinality) - cardinality / 2,
+                random.nextInt(cardinality) * (random.nextBoolean() ? Integer.MAX_VALUE / cardinality : -1),
+                chars[random.nextInt(chars.length)],
+                random.nextInt(3) == 0 ? floats[random.nextInt(floats.length)] : random.nextInt(cardinality) / 4f,
+                random.nextBoolean(),
+                random.nextBoolean() ? random.nextInt(cardinality) : (long) random.nextInt(cardinality) << 40,
+                random.nextInt(cardinality) * (random.nextBoolean() ? -0.25 : 1e300)));
+        }
+        return list;
+    }
+
+    /**
+     * @return Comparator by sortFieldNamePrecedences, that looks up every field by Reflection on every comparison,
+     *          and compares its values directly by the JDK (none of the sorting code under test):
+     *          Strings by {@link String#compareToIgnoreCase}, Characters by {@link Character#compare}
+     *          of each char folded the same as String#compareToIgnoreCase folds it,
+     *          and any other values by {@link Comparable#compareTo}
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<T> makeReferenceComparator(final List<String> sortFieldNamePrecedences){
+        return (t0, t1) -> {
+            for(String sortFieldNamePrecedence : sortFieldNamePrecedences){
+                final boolean descending = sortFieldNamePrecedence.startsWith("-");
+                final String fieldName = descending ? sortFieldNamePrecedence.substring(1) : sortFieldNamePrecedence;
+                final Object value0;
+                final Object value1;
+                try{
+                    final Field field = t0.getClass().getField(fieldName);
+                    value0 = descending ? field.get(t1) : field.get(t0);
+                    value1 = descending ? field.get(t0) : field.get(t1);
+                } catch(NoSuchFieldException | IllegalAccessException e){
+                    throw new RuntimeException(e);
+                }
+
+                final int comparison;
+                if(value0 instanceof String){
+                    comparison = ((String) value0).compareToIgnoreCase((String) value1);
+                } else if(value0 instanceof Character){
+                    comparison = Character.compare(
+                        foldReferenceChar((Character) value0), foldReferenceChar((Character) value1));
+                } else {
+                    comparison = ((Comparable<Object>) value0).compareTo(value1);
+                }
+                if(comparison != 0){
+                    return comparison;
+                }
+            }
+            return 0;
+        };
+    }
+    /**
+     * @return c folded as String#compareToIgnoreCase folds each char:  to upper case, then to lower case
+     */
+    static private char foldReferenceChar(char c){
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * @return sortFieldNamePrecedences of depth random fields (each randomly descending or not)
+     */
+    static List<String> makeRandomPrecedences(int depth, Random random){
+        final List<String> fieldNames = new ArrayList<>(ALL_FIELD_NAMES);
+        Collections.shuffle(fieldNames, random);
+        final List<String> sortFieldNamePrecedences = new ArrayList<>(depth);
+        for(int i = 0; i < depth; ++i){
+            sortFieldNamePrecedences.add((random.nextBoolean() ? "-" : "") + fieldNames.get(i));
+        }
+        return sortFieldNamePrecedences;
+    }
+
+    /**
+     * @return copy of tList, stably sorted by the reference Comparator
+     */
+    static <T> List<T> referenceSorted(final List<T> tList, final List<String> sortFieldNamePrecedences){
+        final List<T> sorted = new ArrayList<>(tList);
+        sorted.sort(makeReferenceComparator(sortFieldNamePrecedences));
+        return sorted;
+    }
+
+    /**
+     * Assert same items (by identity) in same order.
+     */
+    static <T> void assertSameOrder(final List<T> expected, final List<T> actual){
+        assertEquals(expected.size(), actual.size());
+        for(int idx = 0; idx < expected.size(); ++idx){
+            assertSame("at index " + idx, expected.get(idx), actual.get(idx));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class RecordSortTest {
+
+    // RandomValueObjectForTest fields, followed by the index of the Object (not sorted by)
+    static private final RecordSchema RECORD_SCHEMA = new RecordSchema(47)
+        .addField("stringVar", RecordFieldType.STRING, 0, 12)
+        .addField("intVar", RecordFieldType.INT, 12)
+        .addField("integerBoxedVar", RecordFieldType.INT, 16)
+        .addField("charVar", RecordFieldType.CHAR, 20)
+        .addField("floatVar", RecordFieldType.FLOAT, 22)
+        .addField("booleanVar", RecordFieldType.BOOLEAN, 26)
+        .addField("longVar", RecordFieldType.LONG, 27)
+        .addField("doubleVar", RecordFieldType.DOUBLE, 35);
+    static private final int INDEX_OFFSET = 43;
+
+    @Test
+    public void testSortRecords_SameAsReference(){
+        final Random random = new Random(40);
+        for(int trial = 0; trial < 40; ++trial){
+            final List<RandomValueObjectForTest> list =
+                makeRandomList(1 + random.nextInt(500), random.nextDouble(), trial);
+            final List<String> sortFieldNamePrecedences = makeRandomPrecedences(1 + random.nextInt(4), random);
+            final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, sortFieldNamePrecedences);
+
+            // Records after some leading bytes, in a direct ByteBuffer of either byte order
+            final int position = random.nextInt(10);
+            final int recordWidth = RECORD_SCHEMA.getRecordWidth();
+            final ByteBuffer records = ByteBuffer.allocateDirect(position + list.size() * recordWidth)
+                .order(trial % 2 == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+            records.position(position);
+            for(int idx = 0; idx < list.size(); ++idx){
+                putRecord(records, position + idx * recordWidth, list.get(idx), idx);
+            }
+
+            final int[] sortedRecordIndices =
+                SortUtil.sortedRecordIndices(records, RECORD_SCHEMA, sortFieldNamePrecedences);
+            assertArrayEquals(SortUtil.sortedIndices(list, sortFieldNamePrecedences), sortedRecordIndices);
+
+            SortUtil.sortRecords(records, RECORD_SCHEMA, sortFieldNamePrecedences);
+            assertEquals(position, records.position());
+            final List<RandomValueObjectForTest> recordsSorted = new ArrayList<>(list.size());
+            for(int idx = 0; idx < list.size(); ++idx){
+                recordsSorted.add(list.get(records.getInt(position + idx * recordWidth + INDEX_OFFSET)));
+            }
+            assertSameOrder(referenceSorted, recordsSorted);
+        }
+    }
+
+    @Test
+    public void testSortRecords_Latin1StringsAndDescending(){
+        final RecordSchema recordSchema = new RecordSchema(5)
+            .addField("name", RecordFieldType.LATIN1_STRING, 0, 4)
+            .addField("id", RecordFieldType.BYTE, 4);
+        final ByteBuffer records = ByteBuffer.allocate(5 * 5);
+        final String[] names = { "b", "été", "B", "abcd", "" };
+        for(int idx = 0; idx < names.length; ++idx){
+            for(int c = 0; c < names[idx].length(); ++c){
+                records.put(idx * 5 + c, (byte) names[idx].charAt(c));
+            }
+            records.put(idx * 5 + 4, (byte) idx);
+        }
+
+        assertArrayEquals(new int[]{ 4, 3, 0, 2, 1 },
+            SortUtil.sortedRecordIndices(records, recordSchema, Arrays.asList("name")));
+        assertArrayEquals(new int[]{ 1, 2, 0, 3, 4 },
+            SortUtil.sortedRecordIndices(records, recordSchema, Arrays.asList("-name", "-id")));
+        SortUtil.sortRecords(records, recordSchema, Arrays.asList("-name", "-id"));
+        for(int idx = 0; idx < names.length; ++idx){
+            assertEquals(new int[]{ 1, 2, 0, 3, 4 }[idx], records.get(idx * 5 + 4));
+        }
+    }
+
+    @Test
+    public void testSortRecords_InvalidArguments(){
+        try{
+            SortUtil.sortRecords(ByteBuffer.allocate(44), RECORD_SCHEMA, Arrays.asList("intVar"));
+            fail();
+        } catch(IllegalArgumentException e){
+            // Not a multiple of the record width
+        }
+        try{
+            SortUtil.sortRecords(ByteBuffer.allocate(47), RECORD_SCHEMA, Arrays.asList("-notAField"));
+            fail();
+        } catch(RuntimeException e){
+            assertEquals(
+                "Error resolving field (with index 0 in sortFieldNamePrecedences) in RecordSchema "
+                    + RECORD_SCHEMA.getFieldNames() + ", for sorting.",
+                e.getMessage());
+        }
+        try{
+            new RecordSchema(4).addField("longVar", RecordFieldType.LONG, 0);
+            fail();
+        } catch(IllegalArgumentException e){
+            // Does not fit
+        }
+    }
+
+    static private void putRecord(
+            final ByteBuffer records, int recordOffset, final RandomValueObjectForTest t, int idx){
+
+        for(int c = 0; c < t.stringVar.length(); ++c){
+            records.putChar(recordOffset + 2 * c, t.stringVar.charAt(c));
+        }
+        records.putInt(recordOffset + 12, t.intVar);
+        records.putInt(recordOffset + 16, t.integerBoxedVar);
+        records.putChar(recordOffset + 20, t.charVar);
+        records.putFloat(recordOffset + 22, t.floatVar);
+        records.put(recordOffset + 26, (byte) (t.booleanVar ? 1 : 0));
+        records.putLong(recordOffset + 27, t.longVar);
+        records.putDouble(recordOffset + 35, t.doubleVar);
+        records.putInt(recordOffset + INDEX_OFFSET, idx);
+    }
+}
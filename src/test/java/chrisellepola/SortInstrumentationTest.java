@@ -0,0 +1,189 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortInstrumentationTest {
+
+    static private final List<String> SORT_FIELD_NAME_PRECEDENCES = Arrays.asList("booleanVar", "-intVar", "stringVar");
+
+    @Test
+    public void testSort_ReportsComparisonsSameAsCounted(){
+        final List<RandomValueObjectForTest> list = makeRandomList(2000, 0.9, 24);
+        final SortPlan<RandomValueObjectForTest> sortPlan = SortPlan.forList(list, SORT_FIELD_NAME_PRECEDENCES);
+
+        /*
+         * Count (by the same List#sort, so the same comparisons) */
+        final List<RandomValueObjectForTest> countedList = new ArrayList<>(list);
+        final long[] comparisons = new long[1];
+        final long[] comparisonsPastPrecedence = new long[SORT_FIELD_NAME_PRECEDENCES.size()];
+        countedList.sort((t0, t1) -> {
+            ++comparisons[0];
+            for(int curSortPrecedence = 0; curSortPrecedence < comparisonsPastPrecedence.length; ++curSortPrecedence){
+                final int comparison = SortPlan.forClass(
+                        RandomValueObjectForTest.class,
+                        SORT_FIELD_NAME_PRECEDENCES.subList(curSortPrecedence, curSortPrecedence + 1))
+                    .getComparator().compare(t0, t1);
+                if(comparison != 0){
+                    return comparison;
+                }
+                ++comparisonsPastPrecedence[curSortPrecedence];
+            }
+            return 0;
+        });
+
+        final List<RandomValueObjectForTest> specializedSorted = new ArrayList<>(list);
+        final List<SortMetrics> sortMetricsList = new ArrayList<>();
+        final SortMetricsListener sortMetricsListener = sortMetricsList::add;
+        SortInstrumentation.addListener(sortMetricsListener);
+        try{
+            assertTrue(SortInstrumentation.isEnabled());
+            SortUtil.sortTopLevelValueObjectListWithoutPrinting(list, SORT_FIELD_NAME_PRECEDENCES);
+            SortUtil.sortTopLevelValueObjectListWithoutPrinting(
+                specializedSorted, sortPlan, SortMode.SPECIALIZED_COMPARATOR);
+        } finally {
+            assertTrue(SortInstrumentation.removeListener(sortMetricsListener));
+        }
+        assertFalse(SortInstrumentation.isEnabled());
+
+        assertSameOrder(countedList, list);
+        assertSameOrder(countedList, specializedSorted);
+        assertEquals(2, sortMetricsList.size());
+        final SortMetrics sortMetrics = sortMetricsList.get(0);
+        assertEquals(RandomValueObjectForTest.class, sortMetrics.getTClass());
+        assertEquals(SORT_FIELD_NAME_PRECEDENCES, sortMetrics.getSortFieldNamePrecedences());
+        assertEquals(SortMode.COMPARATOR, sortMetrics.getSortMode());
+        assertFalse(sortMetrics.isParallel());
+        assertEquals(2000, sortMetrics.getListSize());
+        assertEquals(comparisons[0], sortMetrics.getComparisons());
+        assertArrayEquals(comparisonsPastPrecedence, sortMetrics.getComparisonsPastPrecedence());
+        assertTrue(sortMetrics.getSortNanos() > 0);
+        assertTrue(sortMetrics.getSortNanos() >= sortMetrics.getFieldReadNanos() + sortMetrics.getFieldCompareNanos());
+
+        // Specialized Comparator sorts (by the same List#sort) count the same comparisons, but nothing else
+        final SortMetrics specializedSortMetrics = sortMetricsList.get(1);
+        assertEquals(SortMode.SPECIALIZED_COMPARATOR, specializedSortMetrics.getSortMode());
+        assertEquals(comparisons[0], specializedSortMetrics.getComparisons());
+        assertArrayEquals(
+            new long[]{ SortMetrics.UNAVAILABLE, SortMetrics.UNAVAILABLE, SortMetrics.UNAVAILABLE },
+            specializedSortMetrics.getComparisonsPastPrecedence());
+        assertEquals(SortMetrics.UNAVAILABLE, specializedSortMetrics.getFieldReadNanos());
+        assertEquals(SortMetrics.UNAVAILABLE, specializedSortMetrics.getFieldCompareNanos());
+
+        // Removed listener is not called
+        SortUtil.sortTopLevelValueObjectListWithoutPrinting(list, SORT_FIELD_NAME_PRECEDENCES);
+        assertEquals(2, sortMetricsList.size());
+    }
+
+    @Test
+    public void testSort_OtherSortModesAndParallel(){
+        final List<RandomValueObjectForTest> list = makeRandomList(3000, 0.5, 25);
+        final SortPlan<RandomValueObjectForTest> sortPlan = SortPlan.forList(list, SORT_FIELD_NAME_PRECEDENCES);
+        final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, SORT_FIELD_NAME_PRECEDENCES);
+
+        final List<SortMetrics> sortMetricsList = new ArrayList<>();
+        final SortMetricsListener sortMetricsListener = sortMetricsList::add;
+        SortInstrumentation.addListener(sortMetricsListener);
+        try{
+            final List<RandomValueObjectForTest> extractedKeysSorted = new ArrayList<>(list);
+            SortUtil.sortTopLevelValueObjectListWithoutPrinting(extractedKeysSorted, sortPlan, SortMode.EXTRACTED_KEYS);
+            final List<RandomValueObjectForTest> parallelSorted = new ArrayList<>(list);
+            final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+            try{
+                SortUtil.sortTopLevelValueObjectListInParallel(parallelSorted, sortPlan, forkJoinPool, 100);
+            } finally {
+                forkJoinPool.shutdown();
+            }
+
+            assertSameOrder(referenceSorted, extractedKeysSorted);
+            assertSameOrder(referenceSorted, parallelSorted);
+        } finally {
+            SortInstrumentation.removeListener(sortMetricsListener);
+        }
+
+        assertEquals(2, sortMetricsList.size());
+        assertEquals(SortMode.EXTRACTED_KEYS, sortMetricsList.get(0).getSortMode());
+        assertEquals(3000, sortMetricsList.get(0).getListSize());
+        assertEquals(SortMetrics.UNAVAILABLE, sortMetricsList.get(0).getComparisons());
+        assertEquals(SortMetrics.UNAVAILABLE, sortMetricsList.get(0).getFieldReadNanos());
+        assertTrue(sortMetricsList.get(1).isParallel());
+        assertTrue(sortMetricsList.get(1).getComparisons() > 3000);
+    }
+
+    @Test
+    public void testRegisterMBean_TotalsSorts() throws Exception{
+        final List<RandomValueObjectForTest> list = makeRandomList(500, 0.7, 26);
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(SortInstrumentation.MBEAN_OBJECT_NAME);
+
+        final SortMetricsMXBean sortMetricsMXBean = SortInstrumentation.registerMBean();
+        try{
+            sortMetricsMXBean.reset();
+            SortUtil.sortTopLevelValueObjectListWithoutPrinting(new ArrayList<>(list), SORT_FIELD_NAME_PRECEDENCES);
+            SortUtil.sortTopLevelValueObjectListWithoutPrinting(new ArrayList<>(list), Arrays.asList("charVar"));
+
+            assertEquals(2L, mBeanServer.getAttribute(objectName, "SortCount"));
+            assertEquals(1000L, mBeanServer.getAttribute(objectName, "TotalListSize"));
+            assertEquals(
+                "SortPlan[charVar] for " + RandomValueObjectForTest.class.getName(),
+                mBeanServer.getAttribute(objectName, "LastSortPlan"));
+            assertEquals(3, ((long[]) mBeanServer.getAttribute(objectName, "TotalComparisonsPastPrecedence")).length);
+            assertTrue(sortMetricsMXBean.getTotalComparisons() > 1000);
+        } finally {
+            SortInstrumentation.unregisterMBean();
+        }
+        assertFalse(mBeanServer.isRegistered(objectName));
+        assertFalse(SortInstrumentation.isEnabled());
+    }
+
+    @Test
+    public void testMakeInstrumentedComparatorForPrecedence(){
+        final List<RandomValueObjectForTest> list = makeRandomList(10, 0, 27);
+        final InstrumentedComparator<RandomValueObjectForTest> comparator =
+            SortUtil.makeInstrumentedComparatorForPrecedence(SortPlan.forList(list, SORT_FIELD_NAME_PRECEDENCES));
+
+        // The same Object ties on every sort field
+        assertEquals(0, comparator.compare(list.get(0), list.get(0)));
+        assertEquals(1, comparator.getComparisons());
+        assertArrayEquals(new long[]{ 1, 1, 1 }, comparator.getComparisonsPastPrecedence());
+
+        comparator.reset();
+        assertEquals(0, comparator.getComparisons());
+        assertArrayEquals(new long[]{ 0, 0, 0 }, comparator.getComparisonsPastPrecedence());
+        assertEquals(0, comparator.getFieldReadNanos());
+        assertEquals(0, comparator.getFieldCompareNanos());
+    }
+
+    @Test
+    public void testInstrumentedComparator_CountsEveryComparisonButTimesASample(){
+        final List<RandomValueObjectForTest> list = makeRandomList(10, 0, 28);
+        final InstrumentedComparator<RandomValueObjectForTest> comparator =
+            SortUtil.makeInstrumentedComparatorForPrecedence(SortPlan.forList(list, SORT_FIELD_NAME_PRECEDENCES));
+
+        // Enough comparisons that (about 1 in 64 being sampled) some are timed
+        final int comparisons = 200 * InstrumentedComparator.FIELD_TIMING_SAMPLE_INTERVAL;
+        for(int comparison = 0; comparison < comparisons; ++comparison){
+            assertEquals(0, comparator.compare(list.get(0), list.get(0)));
+        }
+        assertEquals(comparisons, comparator.getComparisons());
+        assertArrayEquals(
+            new long[]{ comparisons, comparisons, comparisons }, comparator.getComparisonsPastPrecedence());
+        assertTrue(comparator.getFieldReadNanos() > 0);
+    }
+}
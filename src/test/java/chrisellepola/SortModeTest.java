@@ -0,0 +1,51 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+
+public class SortModeTest {
+
+    @Test
+    public void testSort_AllModes_SameOrderAsReference(){
+        for(SortMode sortMode : SortMode.values()){
+            final Random random = new Random(3);
+            for(int trial = 0; trial < 40; ++trial){
+                final List<RandomValueObjectForTest> list =
+                    makeRandomList(1 + random.nextInt(400), random.nextDouble(), trial);
+                final List<String> sortFieldNamePrecedences =
+                    makeRandomPrecedences(1 + random.nextInt(RandomValueObjects.ALL_FIELD_NAMES.size()), random);
+
+                final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+                sortMode.sort(sorted, SortPlan.forList(list, sortFieldNamePrecedences));
+
+                assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+            }
+        }
+    }
+
+    @Test
+    public void testSort_AllModes_LinkedListAndEmptyPrecedences(){
+        final List<RandomValueObjectForTest> list = makeRandomList(50, 0.9, 0);
+        for(SortMode sortMode : SortMode.values()){
+            final List<RandomValueObjectForTest> sorted = new LinkedList<>(list);
+            sortMode.sort(sorted, SortPlan.forList(list, Arrays.asList("booleanVar", "-charVar")));
+            assertSameOrder(referenceSorted(list, Arrays.asList("booleanVar", "-charVar")), sorted);
+
+            final List<RandomValueObjectForTest> unsorted = new ArrayList<>(list);
+            sortMode.sort(unsorted, SortPlan.forList(list, Collections.<String>emptyList()));
+            assertSameOrder(list, unsorted);
+        }
+    }
+}
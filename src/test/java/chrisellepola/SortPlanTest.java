@@ -0,0 +1,116 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class SortPlanTest {
+
+    // Sorted by no other test, so that only testForClass_CachedPlansPerClassBounded caches SortPlans for it
+    static public class CachedPlansValueObjectForTest {
+        public int var0;
+        public int var1;
+        public int var2;
+        public int var3;
+        public int var4;
+        public int var5;
+        public int var6;
+        public int var7;
+        public int var8;
+        public int var9;
+    }
+
+    @Test
+    public void testForClass_Cached(){
+        final SortPlan<RandomValueObjectForTest> sortPlan =
+            SortPlan.forClass(RandomValueObjectForTest.class, Arrays.asList("-intVar", "stringVar"));
+
+        assertSame(
+            sortPlan,
+            SortPlan.forClass(RandomValueObjectForTest.class, new ArrayList<>(Arrays.asList("-intVar", "stringVar"))));
+        assertNotSame(
+            sortPlan, SortPlan.forClass(RandomValueObjectForTest.class, Arrays.asList("intVar", "stringVar")));
+    }
+
+    @Test
+    public void testForClass_CachedPlansPerClassBounded(){
+        final SortPlan<CachedPlansValueObjectForTest> leastRecentlyUsedSortPlan =
+            SortPlan.forClass(CachedPlansValueObjectForTest.class, Collections.singletonList("var0"));
+        final SortPlan<CachedPlansValueObjectForTest> recentlyUsedSortPlan =
+            SortPlan.forClass(CachedPlansValueObjectForTest.class, Collections.singletonList("var1"));
+
+        // 64 more SortPlans, using recentlyUsedSortPlan again along the way
+        for(int varIdx = 0; varIdx < 8; ++varIdx){
+            for(int otherVarIdx = 0; otherVarIdx < 8; ++otherVarIdx){
+                SortPlan.forClass(
+                    CachedPlansValueObjectForTest.class, Arrays.asList("var" + varIdx, "-var" + (otherVarIdx + 2)));
+            }
+            assertSame(recentlyUsedSortPlan,
+                SortPlan.forClass(CachedPlansValueObjectForTest.class, Collections.singletonList("var1")));
+        }
+
+        assertSame(recentlyUsedSortPlan,
+            SortPlan.forClass(CachedPlansValueObjectForTest.class, Collections.singletonList("var1")));
+        assertNotSame(leastRecentlyUsedSortPlan,
+            SortPlan.forClass(CachedPlansValueObjectForTest.class, Collections.singletonList("var0")));
+    }
+
+    @Test
+    public void testForClass_CallerMutatingPrecedencesDoesNotAffectPlan(){
+        final List<String> sortFieldNamePrecedences = new ArrayList<>(Arrays.asList("floatVar", "-charVar"));
+        final SortPlan<RandomValueObjectForTest> sortPlan =
+            SortPlan.forClass(RandomValueObjectForTest.class, sortFieldNamePrecedences);
+
+        sortFieldNamePrecedences.set(0, "intVar");
+
+        assertEquals(Arrays.asList("floatVar", "-charVar"), sortPlan.getSortFieldNamePrecedences());
+    }
+
+    @Test
+    public void testForClass_InvalidFieldNameFailsUpFront(){
+        try{
+            SortPlan.forClass(RandomValueObjectForTest.class, Arrays.asList("intVar", "-noSuchVar"));
+            fail();
+        } catch(RuntimeException e){
+            assertEquals(NoSuchFieldException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void testGetComparator_SameOrderAsReference(){
+        final Random random = new Random(1);
+        for(int trial = 0; trial < 50; ++trial){
+            final List<RandomValueObjectForTest> list = makeRandomList(200, random.nextDouble(), trial);
+            final List<String> sortFieldNamePrecedences =
+                makeRandomPrecedences(1 + random.nextInt(RandomValueObjects.ALL_FIELD_NAMES.size()), random);
+
+            final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+            sorted.sort(SortPlan.forList(list, sortFieldNamePrecedences).getComparator());
+
+            assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), sorted);
+        }
+    }
+
+    @Test
+    public void testGetComparator_EmptyPrecedencesAllEqual(){
+        final List<RandomValueObjectForTest> list = makeRandomList(20, 0, 0);
+        final List<RandomValueObjectForTest> sorted = new ArrayList<>(list);
+        sorted.sort(SortPlan.forList(list, Collections.<String>emptyList()).getComparator());
+
+        assertSameOrder(list, sorted);
+    }
+}
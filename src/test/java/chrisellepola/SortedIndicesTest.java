@@ -0,0 +1,145 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.fail;
+
+public class SortedIndicesTest {
+
+    @Test
+    public void testSortedIndices_AppliedSameAsReference(){
+        final Random random = new Random(30);
+        for(int trial = 0; trial < 40; ++trial){
+            final List<RandomValueObjectForTest> list =
+                makeRandomList(1 + random.nextInt(500), random.nextDouble(), trial);
+            final List<RandomValueObjectForTest> unmodified = new ArrayList<>(list);
+            final List<String> sortFieldNamePrecedences = makeRandomPrecedences(1 + random.nextInt(4), random);
+
+            final int[] sortedIndices = SortUtil.sortedIndices(list, sortFieldNamePrecedences);
+            // Not modified
+            assertSameOrder(unmodified, list);
+
+            final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, sortFieldNamePrecedences);
+            final List<RandomValueObjectForTest> arrayListSorted = new ArrayList<>(list);
+            Permutations.applyInPlace(sortedIndices, arrayListSorted);
+            assertSameOrder(referenceSorted, arrayListSorted);
+            final List<RandomValueObjectForTest> linkedListSorted = new LinkedList<>(list);
+            Permutations.applyInPlace(sortedIndices, linkedListSorted);
+            assertSameOrder(referenceSorted, linkedListSorted);
+
+            /*
+             * Parallel arrays (of each Object's fields, & the Objects themselves) */
+            final int[] intVars = new int[list.size()];
+            final long[] longVars = new long[list.size()];
+            final double[] doubleVars = new double[list.size()];
+            final Object[] ts = list.toArray();
+            for(int idx = 0; idx < list.size(); ++idx){
+                intVars[idx] = list.get(idx).intVar;
+                longVars[idx] = list.get(idx).longVar;
+                doubleVars[idx] = list.get(idx).doubleVar;
+            }
+            Permutations.applyInPlace(sortedIndices, intVars);
+            Permutations.applyInPlace(sortedIndices, longVars);
+            Permutations.applyInPlace(sortedIndices, doubleVars);
+            Permutations.applyInPlace(sortedIndices, ts);
+            for(int idx = 0; idx < list.size(); ++idx){
+                assertEquals(referenceSorted.get(idx).intVar, intVars[idx]);
+                assertEquals(referenceSorted.get(idx).longVar, longVars[idx]);
+                assertEquals(referenceSorted.get(idx).doubleVar, doubleVars[idx], 0);
+                assertEquals(referenceSorted.get(idx), ts[idx]);
+            }
+
+            // The inverse permutation restores the original order
+            Permutations.applyInPlace(Permutations.inverse(sortedIndices), arrayListSorted);
+            assertSameOrder(list, arrayListSorted);
+        }
+    }
+
+    @Test
+    public void testApplyInPlace_InvalidPermutationFailsUnchanged(){
+        for(final int[] sortedIndices : new int[][]{ { 0, 1 }, { 0, 1, 3 }, { 2, 0, 2 }, { -1, 0, 1 } }){
+            final int[] unchangedSortedIndices = sortedIndices.clone();
+            final int[] array = { 7, 8, 9 };
+            try{
+                Permutations.applyInPlace(sortedIndices, array);
+                fail();
+            } catch(IllegalArgumentException e){
+                assertArrayEquals(unchangedSortedIndices, sortedIndices);
+                assertArrayEquals(new int[]{ 7, 8, 9 }, array);
+            }
+        }
+    }
+
+    @Test
+    public void testApplyInPlace_FailingListLeavesSortedIndicesUnchanged(){
+        final int[] sortedIndices = { 2, 0, 1 };
+        try{
+            Permutations.applyInPlace(sortedIndices, Collections.unmodifiableList(Arrays.asList(7, 8, 9)));
+            fail();
+        } catch(UnsupportedOperationException e){
+            assertArrayEquals(new int[]{ 2, 0, 1 }, sortedIndices);
+        }
+    }
+
+    @Test
+    public void testSortedIndicesCache_ReusedUntilListChanges(){
+        final List<RandomValueObjectForTest> list = makeRandomList(300, 0.5, 31);
+        final SortPlan<RandomValueObjectForTest> sortPlan = SortPlan.forList(list, Arrays.asList("-charVar", "intVar"));
+        final SortedIndicesCache sortedIndicesCache = new SortedIndicesCache(2);
+
+        final int[] sortedIndices = sortedIndicesCache.sortedIndices(list, sortPlan);
+        assertArrayEquals(SortUtil.sortedIndices(list, sortPlan), sortedIndices);
+        // A copy
+        sortedIndices[0] = -1;
+        final int[] cachedSortedIndices = sortedIndicesCache.sortedIndices(list, sortPlan);
+        assertNotSame(sortedIndices, cachedSortedIndices);
+        assertArrayEquals(SortUtil.sortedIndices(list, sortPlan), cachedSortedIndices);
+        assertEquals(1, sortedIndicesCache.size());
+
+        // Changed List is sorted again
+        list.set(0, makeRandomList(1, 0, 32).get(0));
+        assertArrayEquals(SortUtil.sortedIndices(list, sortPlan), sortedIndicesCache.sortedIndices(list, sortPlan));
+        list.remove(list.size() - 1);
+        assertArrayEquals(SortUtil.sortedIndices(list, sortPlan), sortedIndicesCache.sortedIndices(list, sortPlan));
+        assertEquals(1, sortedIndicesCache.size());
+
+        // Least-recently used evicted
+        final List<RandomValueObjectForTest> otherList = new ArrayList<>(list);
+        sortedIndicesCache.sortedIndices(otherList, sortPlan);
+        sortedIndicesCache.sortedIndices(otherList, SortPlan.forList(list, Arrays.asList("stringVar")));
+        assertEquals(2, sortedIndicesCache.size());
+        sortedIndicesCache.invalidate(otherList);
+        assertEquals(0, sortedIndicesCache.size());
+    }
+
+    @Test
+    public void testSortedIndicesCache_PurgesGarbageCollectedLists() throws InterruptedException{
+        final SortedIndicesCache sortedIndicesCache = new SortedIndicesCache(2);
+        final SortPlan<RandomValueObjectForTest> sortPlan =
+            SortPlan.forClass(RandomValueObjectForTest.class, Arrays.asList("intVar"));
+        sortedIndicesCache.sortedIndices(makeRandomList(100, 0.5, 33), sortPlan);
+        assertEquals(1, sortedIndicesCache.size());
+
+        // (The List is no longer referenced, but when it is garbage collected is up to the JVM)
+        for(int attempt = 0; attempt < 100 && sortedIndicesCache.size() > 0; ++attempt){
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, sortedIndicesCache.size());
+    }
+}
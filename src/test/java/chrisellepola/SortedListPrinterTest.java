@@ -0,0 +1,136 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+
+public class SortedListPrinterTest {
+
+    static public class PrintedValueObjectForTest {
+
+        public final String stringVar;
+        public final int intVar;
+        public final Character characterBoxedVar;
+        public final float floatVar;
+        public final boolean booleanVar;
+
+        PrintedValueObjectForTest(
+                String stringVar, int intVar, Character characterBoxedVar, float floatVar, boolean booleanVar){
+
+            this.stringVar = stringVar;
+            this.intVar = intVar;
+            this.characterBoxedVar = characterBoxedVar;
+            this.floatVar = floatVar;
+            this.booleanVar = booleanVar;
+        }
+    }
+
+    @Test
+    public void testPrint_SameLinesAsEverPrinted(){
+        final List<PrintedValueObjectForTest> list = new ArrayList<>(Arrays.asList(
+            new PrintedValueObjectForTest("aA", 0, 'a', -0.6f, false),
+            new PrintedValueObjectForTest("Bb", 1, 'B', -0.5f, false),
+            new PrintedValueObjectForTest("bB", 1, 'b', -0.5f, true),
+            new PrintedValueObjectForTest("bB", 3, 'D', -0.2f, true),
+            new PrintedValueObjectForTest("Bb", 4, 'e', -0.1f, true),
+            new PrintedValueObjectForTest("bB", 4, 'E', -0.1f, false),
+            new PrintedValueObjectForTest("fF", 6, 'g', 0f, true)));
+        final SortPlan<PrintedValueObjectForTest> sortPlan = SortPlan.forList(
+            list, Arrays.asList("-booleanVar", "stringVar", "characterBoxedVar", "-floatVar", "intVar"));
+        SortUtil.sortTopLevelValueObjectListWithoutPrinting(list, sortPlan, SortMode.COMPARATOR);
+
+        final List<String> lines = new ArrayList<>();
+        new SortedListPrinter<>(sortPlan).print(list, lines::add);
+
+        assertEquals(
+            Arrays.asList(
+                "Sorted List of java.util.ArrayList (only displaying values necessary for comparing "
+                    + "input-adjacent Objects per order: "
+                    + "[-booleanVar, stringVar, characterBoxedVar, -floatVar, intVar]):",
+                "truebBb",
+                "true, bB, D",
+                "true, Bb, e",
+                "true, fF",
+                "false, aA",
+                "false, Bb, B",
+                "false, bB, E",
+                ""),
+            lines);
+    }
+
+    @Test
+    public void testPrint_AppendableSameAsLinesAndSystemOut() throws Exception{
+        final List<RandomValueObjectForTest> list = makeRandomList(3000, 0.9, 22);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("booleanVar", "-charVar", "intVar", "stringVar");
+        final SortPlan<RandomValueObjectForTest> sortPlan = SortPlan.forList(list, sortFieldNamePrecedences);
+        SortUtil.sortTopLevelValueObjectListWithoutPrinting(list, sortFieldNamePrecedences);
+        final SortedListPrinter<RandomValueObjectForTest> sortedListPrinter = new SortedListPrinter<>(sortPlan);
+
+        final StringBuilder appended = new StringBuilder();
+        sortedListPrinter.print(list, appended);
+
+        final StringBuilder joinedLines = new StringBuilder();
+        sortedListPrinter.print(list, line -> joinedLines.append(line).append(System.lineSeparator()));
+        assertEquals(joinedLines.toString(), appended.toString());
+
+        final PrintStream systemOut = System.out;
+        final ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        try{
+            System.setOut(new PrintStream(printed, true, "UTF-8"));
+            SortUtil.printSortedListWithHeaderFooter(list, sortFieldNamePrecedences);
+        } finally {
+            System.setOut(systemOut);
+        }
+        assertEquals(appended.toString(), printed.toString("UTF-8"));
+    }
+
+    @Test
+    public void testPrintAsync_PrintsListAsOfCall() throws Exception{
+        final List<RandomValueObjectForTest> list = makeRandomList(2000, 0.5, 23);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("-intVar", "floatVar");
+        final SortPlan<RandomValueObjectForTest> sortPlan = SortPlan.forList(list, sortFieldNamePrecedences);
+        SortUtil.sortTopLevelValueObjectListWithoutPrinting(list, sortPlan, SortMode.EXTRACTED_KEYS);
+        assertSameOrder(referenceSorted(list, sortFieldNamePrecedences), list);
+        final SortedListPrinter<RandomValueObjectForTest> sortedListPrinter = new SortedListPrinter<>(sortPlan);
+
+        final StringBuilder expected = new StringBuilder();
+        sortedListPrinter.print(list, expected);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try{
+            final StringBuilder appended = new StringBuilder();
+            final List<String> lines = new ArrayList<>();
+            executor.execute(() -> {
+                try{
+                    Thread.sleep(50);
+                } catch(InterruptedException e){
+                    Thread.currentThread().interrupt();
+                }
+            });
+            final CompletableFuture<Void> appendedFuture = sortedListPrinter.printAsync(list, appended, executor);
+            final CompletableFuture<Void> linesFuture = sortedListPrinter.printAsync(list, lines::add, executor);
+            // Changing list (while printing is still queued) does not change what is printed
+            list.clear();
+            appendedFuture.get();
+            linesFuture.get();
+
+            assertEquals(expected.toString(), appended.toString());
+            assertEquals(expected.toString(), String.join(System.lineSeparator(), lines) + System.lineSeparator());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
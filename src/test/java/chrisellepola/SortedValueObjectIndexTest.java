@@ -0,0 +1,106 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SortedValueObjectIndexTest {
+
+    static private final List<String> SORT_FIELD_NAME_PRECEDENCES = Arrays.asList("-intVar", "stringVar", "floatVar");
+
+    @Test
+    public void testAddAndRemove_SameOrderAsReference(){
+        final Random random = new Random(16);
+        final List<RandomValueObjectForTest> pool = makeRandomList(400, 0.8, 16);
+        final SortedValueObjectIndex<RandomValueObjectForTest> index = new SortedValueObjectIndex<>(
+            SortPlan.forClass(RandomValueObjectForTest.class, SORT_FIELD_NAME_PRECEDENCES));
+        // Same Objects, in the order they were added
+        final List<RandomValueObjectForTest> added = new ArrayList<>();
+
+        for(int operation = 0; operation < 2000; ++operation){
+            if(added.isEmpty() || random.nextInt(3) > 0){
+                final RandomValueObjectForTest t = pool.get(random.nextInt(pool.size()));
+                assertTrue(index.add(t));
+                added.add(t);
+            } else {
+                final RandomValueObjectForTest t = added.get(random.nextInt(added.size()));
+                assertTrue(index.remove(t));
+                added.remove(t);
+            }
+        }
+
+        assertEquals(added.size(), index.size());
+        assertSameOrder(referenceSorted(added, SORT_FIELD_NAME_PRECEDENCES), new ArrayList<>(index));
+    }
+
+    @Test
+    public void testFindByPrefix_SameAsFilteredReference(){
+        final List<RandomValueObjectForTest> list = makeRandomList(500, 0.95, 17);
+        final SortedValueObjectIndex<RandomValueObjectForTest> index = new SortedValueObjectIndex<>(
+            SortPlan.forList(list, SORT_FIELD_NAME_PRECEDENCES), list);
+        final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, SORT_FIELD_NAME_PRECEDENCES);
+
+        for(RandomValueObjectForTest t : list.subList(0, 20)){
+            final List<RandomValueObjectForTest> expected = new ArrayList<>();
+            for(RandomValueObjectForTest sortedT : referenceSorted){
+                if(sortedT.intVar == t.intVar && sortedT.stringVar.equalsIgnoreCase(t.stringVar)){
+                    expected.add(sortedT);
+                }
+            }
+
+            assertSameOrder(expected, index.findByPrefix(t.intVar, t.stringVar.toUpperCase()));
+        }
+        assertTrue(index.findByPrefix(Integer.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void testRangeByPrefix(){
+        final List<RandomValueObjectForTest> list = makeRandomList(300, 0.9, 18);
+        final SortedValueObjectIndex<RandomValueObjectForTest> index = new SortedValueObjectIndex<>(
+            SortPlan.forList(list, SORT_FIELD_NAME_PRECEDENCES), list);
+
+        // intVar is descending:  so from 5 down to -5
+        final List<RandomValueObjectForTest> expected = new ArrayList<>();
+        for(RandomValueObjectForTest sortedT : referenceSorted(list, SORT_FIELD_NAME_PRECEDENCES)){
+            if(sortedT.intVar <= 5 && sortedT.intVar > -5){
+                expected.add(sortedT);
+            }
+        }
+
+        assertSameOrder(
+            expected, index.rangeByPrefix(Collections.singletonList(5), true, Collections.singletonList(-5), false));
+        // Reversed range
+        assertTrue(index.rangeByPrefix(
+            Collections.singletonList(-5), true, Collections.singletonList(5), true).isEmpty());
+        // From a longer prefix to after a shorter one
+        assertTrue(index.rangeByPrefix(
+            Arrays.asList(3, "a"), true, Collections.singletonList(3), false).isEmpty());
+    }
+
+    @Test
+    public void testFirstLastContains(){
+        final List<RandomValueObjectForTest> list = makeRandomList(50, 0.5, 19);
+        final SortedValueObjectIndex<RandomValueObjectForTest> index = new SortedValueObjectIndex<>(
+            SortPlan.forList(list, SORT_FIELD_NAME_PRECEDENCES), list);
+        final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, SORT_FIELD_NAME_PRECEDENCES);
+
+        assertSame(referenceSorted.get(0), index.first());
+        assertSame(referenceSorted.get(referenceSorted.size() - 1), index.last());
+        assertTrue(index.contains(list.get(7)));
+        assertFalse(index.contains("not a RandomValueObjectForTest"));
+        assertFalse(index.remove(makeRandomList(1, 0, 20).get(0)));
+    }
+}
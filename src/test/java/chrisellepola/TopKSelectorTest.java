@@ -0,0 +1,94 @@
+package chrisellepola;
+
+import chrisellepola.RandomValueObjects.RandomValueObjectForTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static chrisellepola.RandomValueObjects.assertSameOrder;
+import static chrisellepola.RandomValueObjects.makeRandomList;
+import static chrisellepola.RandomValueObjects.makeRandomPrecedences;
+import static chrisellepola.RandomValueObjects.referenceSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TopKSelectorTest {
+
+    @Test
+    public void testSortTopK_SameAsFirstKOfReference(){
+        final Random random = new Random(12);
+        for(int trial = 0; trial < 60; ++trial){
+            final List<RandomValueObjectForTest> list =
+                makeRandomList(1 + random.nextInt(500), random.nextDouble(), trial);
+            final List<RandomValueObjectForTest> unmodified = new ArrayList<>(list);
+            final List<String> sortFieldNamePrecedences = makeRandomPrecedences(1 + random.nextInt(3), random);
+            final int k = random.nextInt(list.size() + 10);
+
+            final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, sortFieldNamePrecedences);
+            assertSameOrder(
+                referenceSorted.subList(0, Math.min(k, list.size())),
+                SortUtil.sortTopK(list, sortFieldNamePrecedences, k));
+            // Not modified
+            assertSameOrder(unmodified, list);
+        }
+    }
+
+    @Test
+    public void testSortTopK_TiesAtBoundaryKeepOriginalOrder(){
+        final List<RandomValueObjectForTest> list = makeRandomList(300, 1, 13);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("-booleanVar");
+
+        for(int k : new int[]{ 0, 1, 2, 149, 150, 151, 299, 300 }){
+            assertSameOrder(
+                referenceSorted(list, sortFieldNamePrecedences).subList(0, k),
+                SortUtil.sortTopK(list, sortFieldNamePrecedences, k));
+        }
+    }
+
+    @Test
+    public void testSortPage_SameAsSubListOfReference(){
+        final List<RandomValueObjectForTest> list = makeRandomList(200, 0.6, 14);
+        final List<String> sortFieldNamePrecedences = Arrays.asList("charVar", "-intVar");
+        final List<RandomValueObjectForTest> referenceSorted = referenceSorted(list, sortFieldNamePrecedences);
+
+        for(int offset = 0; offset <= 210; offset += 30){
+            for(int limit : new int[]{ 0, 1, 25, 500, Integer.MAX_VALUE }){
+                assertSameOrder(
+                    referenceSorted.subList(
+                        Math.min(offset, list.size()), (int) Math.min(list.size(), (long) offset + limit)),
+                    SortUtil.sortPage(list, sortFieldNamePrecedences, offset, limit));
+            }
+        }
+        assertTrue(SortUtil.sortPage(new ArrayList<RandomValueObjectForTest>(), sortFieldNamePrecedences, 0, 5)
+            .isEmpty());
+    }
+
+    @Test
+    public void testSortTopK_NegativeKFails(){
+        final List<RandomValueObjectForTest> list = makeRandomList(10, 0, 13);
+        final List<RandomValueObjectForTest> emptyList = new ArrayList<>();
+        for(final List<RandomValueObjectForTest> tList : Arrays.asList(list, emptyList)){
+            try{
+                SortUtil.sortTopK(tList, Arrays.asList("intVar"), -1);
+                fail();
+            } catch(IllegalArgumentException e){
+                assertEquals("k must be non-negative: -1", e.getMessage());
+            }
+        }
+        try{
+            SortUtil.sortTopK(list, SortPlan.forList(list, Arrays.asList("intVar")), -1);
+            fail();
+        } catch(IllegalArgumentException e){
+            assertEquals("k must be non-negative: -1", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortPage_NegativeOffsetFails(){
+        SortUtil.sortPage(makeRandomList(5, 0, 15), Arrays.asList("intVar"), -1, 5);
+    }
+}